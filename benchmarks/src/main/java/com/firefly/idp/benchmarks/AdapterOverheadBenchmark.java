@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.benchmarks;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.cache.CachingIdpAdapter;
+import com.firefly.idp.adapter.coalescing.CoalescingIdpAdapter;
+import com.firefly.idp.adapter.metrics.InMemoryIdpMetrics;
+import com.firefly.idp.adapter.metrics.InstrumentedIdpAdapter;
+import com.firefly.idp.dtos.IntrospectionResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded overhead of the Reactor plumbing and of each decorator around a no-op adapter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AdapterOverheadBenchmark {
+
+    private static final String TOKEN = "eyJhbGciOiJSUzI1NiJ9.benchmark.token";
+
+    private IdpAdapter noop;
+    private IdpAdapter forwarding;
+    private IdpAdapter instrumented;
+    private IdpAdapter caching;
+    private IdpAdapter coalescing;
+
+    @Setup
+    public void setUp() {
+        noop = new NoopIdpAdapter();
+        forwarding = new ForwardingIdpAdapter(noop) { };
+        instrumented = new InstrumentedIdpAdapter(noop, new InMemoryIdpMetrics());
+        caching = new CachingIdpAdapter(noop);
+        coalescing = new CoalescingIdpAdapter(noop);
+        caching.introspect(TOKEN).block();
+    }
+
+    @Benchmark
+    public ResponseEntity<IntrospectionResponse> noop() {
+        return noop.introspect(TOKEN).block();
+    }
+
+    @Benchmark
+    public ResponseEntity<IntrospectionResponse> forwarding() {
+        return forwarding.introspect(TOKEN).block();
+    }
+
+    @Benchmark
+    public ResponseEntity<IntrospectionResponse> instrumented() {
+        return instrumented.introspect(TOKEN).block();
+    }
+
+    @Benchmark
+    public ResponseEntity<IntrospectionResponse> cachingHit() {
+        return caching.introspect(TOKEN).block();
+    }
+
+    @Benchmark
+    public ResponseEntity<IntrospectionResponse> coalescing() {
+        return coalescing.introspect(TOKEN).block();
+    }
+}
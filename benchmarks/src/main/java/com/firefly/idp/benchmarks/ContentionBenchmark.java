@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.benchmarks;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.cache.CachingIdpAdapter;
+import com.firefly.idp.adapter.coalescing.CoalescingIdpAdapter;
+import com.firefly.idp.dtos.IntrospectionResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the cache and coalescing layers as contention grows from 1 to 64 threads.
+ *
+ * Threads pick tokens from a fixed pool, so the cache benchmarks run at a 100% hit rate. The
+ * coalescing benchmarks call an IdP answering after 1 ms and draw from a small pool of hot tokens,
+ * so concurrent calls overlap in flight; the uncoalesced benchmarks call the same IdP directly as
+ * the baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ContentionBenchmark {
+
+    private static final int TOKENS = 1024;
+    private static final int HOT_TOKENS = 16;
+    private static final long IDP_LATENCY_MILLIS = 1;
+
+    private String[] tokens;
+    private IdpAdapter caching;
+    private IdpAdapter coalescing;
+    private IdpAdapter slow;
+
+    @Setup
+    public void setUp() {
+        NoopIdpAdapter noop = new NoopIdpAdapter();
+        caching = new CachingIdpAdapter(noop);
+        slow = new ForwardingIdpAdapter(noop) {
+            @Override
+            public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+                return Mono.delay(Duration.ofMillis(IDP_LATENCY_MILLIS)).then(super.introspect(accessToken));
+            }
+        };
+        coalescing = new CoalescingIdpAdapter(slow);
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = "token-" + i;
+            caching.introspect(tokens[i]).block();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ResponseEntity<IntrospectionResponse> cachingHit01() {
+        return caching.introspect(nextToken()).block();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ResponseEntity<IntrospectionResponse> cachingHit04() {
+        return caching.introspect(nextToken()).block();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public ResponseEntity<IntrospectionResponse> cachingHit16() {
+        return caching.introspect(nextToken()).block();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public ResponseEntity<IntrospectionResponse> cachingHit64() {
+        return caching.introspect(nextToken()).block();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ResponseEntity<IntrospectionResponse> coalescing01() {
+        return coalescing.introspect(nextHotToken()).block();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ResponseEntity<IntrospectionResponse> coalescing04() {
+        return coalescing.introspect(nextHotToken()).block();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public ResponseEntity<IntrospectionResponse> coalescing16() {
+        return coalescing.introspect(nextHotToken()).block();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public ResponseEntity<IntrospectionResponse> coalescing64() {
+        return coalescing.introspect(nextHotToken()).block();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public ResponseEntity<IntrospectionResponse> uncoalesced16() {
+        return slow.introspect(nextHotToken()).block();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public ResponseEntity<IntrospectionResponse> uncoalesced64() {
+        return slow.introspect(nextHotToken()).block();
+    }
+
+    private String nextHotToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(HOT_TOKENS)];
+    }
+
+    private String nextToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(TOKENS)];
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.idp.dtos.IntrospectionResponse;
+import com.firefly.idp.dtos.TokenResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of Jackson mapping for the DTOs parsed on every request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DtoSerializationBenchmark {
+
+    private ObjectMapper mapper;
+    private byte[] tokenJson;
+    private byte[] introspectionJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = new ObjectMapper();
+        tokenJson = mapper.writeValueAsBytes(NoopIdpAdapter.TOKENS);
+        introspectionJson = mapper.writeValueAsBytes(NoopIdpAdapter.INTROSPECTION);
+    }
+
+    @Benchmark
+    public byte[] serializeTokenResponse() throws Exception {
+        return mapper.writeValueAsBytes(NoopIdpAdapter.TOKENS);
+    }
+
+    @Benchmark
+    public TokenResponse deserializeTokenResponse() throws Exception {
+        return mapper.readValue(tokenJson, TokenResponse.class);
+    }
+
+    @Benchmark
+    public byte[] serializeIntrospectionResponse() throws Exception {
+        return mapper.writeValueAsBytes(NoopIdpAdapter.INTROSPECTION);
+    }
+
+    @Benchmark
+    public IntrospectionResponse deserializeIntrospectionResponse() throws Exception {
+        return mapper.readValue(introspectionJson, IntrospectionResponse.class);
+    }
+}
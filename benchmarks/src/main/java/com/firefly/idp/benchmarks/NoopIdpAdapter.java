@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.benchmarks;
+
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.dtos.*;
+import com.firefly.idp.dtos.enums.UserRoleEnum;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link IdpAdapter} that answers every call immediately with a pre-built response, so benchmarks
+ * measure only the layers wrapped around it.
+ */
+public class NoopIdpAdapter implements IdpAdapter {
+
+    static final TokenResponse TOKENS = TokenResponse.builder()
+            .accessToken("access").refreshToken("refresh").tokenType("Bearer").expiresIn(300L).scope("openid").build();
+
+    static final IntrospectionResponse INTROSPECTION = IntrospectionResponse.builder()
+            .active(true)
+            .scope("openid profile email")
+            .username("alice")
+            .exp(Instant.now().plusSeconds(86_400).getEpochSecond())
+            .iat(Instant.now().getEpochSecond())
+            .sub("5d0b7c1e-8f7e-4a8e-9d3c-2b1a0f9e8d7c")
+            .aud(List.of("account"))
+            .iss("https://idp.example.com/realms/firefly")
+            .jti("jti-1")
+            .partyId(UUID.fromString("3f2a1b0c-9d8e-4f7a-8b6c-5d4e3f2a1b0c"))
+            .userRole(UserRoleEnum.AGENT)
+            .build();
+
+    private static final Mono<ResponseEntity<TokenResponse>> TOKEN_RESPONSE = Mono.just(ResponseEntity.ok(TOKENS));
+    private static final Mono<ResponseEntity<IntrospectionResponse>> INTROSPECTION_RESPONSE =
+            Mono.just(ResponseEntity.ok(INTROSPECTION));
+    private static final Mono<ResponseEntity<UserInfoResponse>> USER_INFO_RESPONSE = Mono.just(ResponseEntity.ok(
+            UserInfoResponse.builder().sub(INTROSPECTION.getSub()).preferredUsername("alice").build()));
+    private static final Mono<ResponseEntity<List<String>>> ROLES_RESPONSE =
+            Mono.just(ResponseEntity.ok(List.of("AGENT", "offline_access")));
+
+    @Override
+    public Mono<ResponseEntity<TokenResponse>> login(LoginRequest request) {
+        return TOKEN_RESPONSE;
+    }
+
+    @Override
+    public Mono<ResponseEntity<TokenResponse>> refresh(RefreshRequest request) {
+        return TOKEN_RESPONSE;
+    }
+
+    @Override
+    public Mono<Void> logout(LogoutRequest request) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+        return INTROSPECTION_RESPONSE;
+    }
+
+    @Override
+    public Mono<ResponseEntity<UserInfoResponse>> getUserInfo(String accessToken) {
+        return USER_INFO_RESPONSE;
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateUserResponse>> createUser(CreateUserRequest request) {
+        return Mono.just(ResponseEntity.ok(CreateUserResponse.builder().id("id").username(request.getUsername()).build()));
+    }
+
+    @Override
+    public Mono<Void> changePassword(ChangePasswordRequest request) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> resetPassword(String username) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<ResponseEntity<MfaChallengeResponse>> mfaChallenge(String username) {
+        return Mono.just(ResponseEntity.ok(MfaChallengeResponse.builder().challengeId("challenge").build()));
+    }
+
+    @Override
+    public Mono<Void> mfaVerify(MfaVerifyRequest request) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> revokeRefreshToken(String refreshToken) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<SessionInfo>>> listSessions(String userId) {
+        return Mono.just(ResponseEntity.ok(List.of()));
+    }
+
+    @Override
+    public Mono<Void> revokeSession(String sessionId) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<String>>> getRoles(String userId) {
+        return ROLES_RESPONSE;
+    }
+
+    @Override
+    public Mono<Void> deleteUser(String userId) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<ResponseEntity<UpdateUserResponse>> updateUser(UpdateUserRequest request) {
+        return Mono.just(ResponseEntity.ok(UpdateUserResponse.builder().id(request.getUserId()).build()));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateRolesResponse>> createRoles(CreateRolesRequest request) {
+        return Mono.just(ResponseEntity.ok(CreateRolesResponse.builder().createdRoleNames(request.getRoleNames()).build()));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateScopeResponse>> createScope(CreateScopeRequest request) {
+        return Mono.just(ResponseEntity.ok(CreateScopeResponse.builder().name(request.getName()).build()));
+    }
+
+    @Override
+    public Mono<Void> assignRolesToUser(AssignRolesRequest request) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> removeRolesFromUser(AssignRolesRequest request) {
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.benchmarks;
+
+import com.firefly.idp.dtos.scope.ScopeRegistry;
+import com.firefly.idp.dtos.scope.ScopeSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Has scopes A and B" checks: splitting the scope claim per check versus a precompiled
+ * {@link ScopeSet}. Run with {@code -prof gc} to compare allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ScopeCheckBenchmark {
+
+    private static final String SCOPE = "openid profile email accounts:read accounts:write "
+            + "payments:read payments:initiate cards:read offline_access";
+    private static final List<String> REQUIRED = List.of("accounts:read", "payments:initiate");
+
+    private ScopeSet granted;
+    private ScopeSet required;
+    private ScopeRegistry registry;
+
+    @Setup
+    public void setUp() {
+        registry = new ScopeRegistry(Arrays.asList(SCOPE.split(" ")));
+        granted = registry.parse(SCOPE);
+        required = registry.compile(REQUIRED.toArray(String[]::new));
+    }
+
+    @Benchmark
+    public boolean splitAndCompare() {
+        return Arrays.asList(SCOPE.split(" ")).containsAll(REQUIRED);
+    }
+
+    @Benchmark
+    public boolean splitIntoHashSet() {
+        Set<String> scopes = new HashSet<>(Arrays.asList(SCOPE.split(" ")));
+        return scopes.containsAll(REQUIRED);
+    }
+
+    @Benchmark
+    public boolean scopeSetCheck() {
+        return granted.containsAll(required);
+    }
+
+    @Benchmark
+    public boolean parseAndCheck() {
+        return registry.parse(SCOPE).containsAll(required);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter;
+
+import com.firefly.idp.dtos.*;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Base class for {@link IdpAdapter} decorators that forwards every operation to a delegate.
+ *
+ * Subclasses override only the operations they enhance (caching, coalescing, metrics, etc.)
+ * and call {@code super} to reach the wrapped adapter, so decorators can be stacked freely.
+ */
+public abstract class ForwardingIdpAdapter implements IdpAdapter {
+
+    private final IdpAdapter delegate;
+
+    protected ForwardingIdpAdapter(IdpAdapter delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+    }
+
+    /**
+     * @return the adapter this decorator forwards to
+     */
+    protected IdpAdapter delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Mono<ResponseEntity<TokenResponse>> login(LoginRequest request) {
+        return delegate.login(request);
+    }
+
+    @Override
+    public Mono<ResponseEntity<TokenResponse>> refresh(RefreshRequest request) {
+        return delegate.refresh(request);
+    }
+
+    @Override
+    public Mono<Void> logout(LogoutRequest request) {
+        return delegate.logout(request);
+    }
+
+    @Override
+    public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+        return delegate.introspect(accessToken);
+    }
+
+    @Override
+    public Mono<ResponseEntity<UserInfoResponse>> getUserInfo(String accessToken) {
+        return delegate.getUserInfo(accessToken);
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateUserResponse>> createUser(CreateUserRequest request) {
+        return delegate.createUser(request);
+    }
+
+    @Override
+    public Mono<Void> changePassword(ChangePasswordRequest request) {
+        return delegate.changePassword(request);
+    }
+
+    @Override
+    public Mono<Void> resetPassword(String username) {
+        return delegate.resetPassword(username);
+    }
+
+    @Override
+    public Mono<ResponseEntity<MfaChallengeResponse>> mfaChallenge(String username) {
+        return delegate.mfaChallenge(username);
+    }
+
+    @Override
+    public Mono<Void> mfaVerify(MfaVerifyRequest request) {
+        return delegate.mfaVerify(request);
+    }
+
+    @Override
+    public Mono<Void> revokeRefreshToken(String refreshToken) {
+        return delegate.revokeRefreshToken(refreshToken);
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<SessionInfo>>> listSessions(String userId) {
+        return delegate.listSessions(userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<SessionInfo>>> listSessions(String userId, int offset, int limit) {
+        return delegate.listSessions(userId, offset, limit);
+    }
+
+    @Override
+    public Mono<Void> revokeSession(String sessionId) {
+        return delegate.revokeSession(sessionId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<String>>> getRoles(String userId) {
+        return delegate.getRoles(userId);
+    }
+
+    @Override
+    public Mono<Void> deleteUser(String userId) {
+        return delegate.deleteUser(userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<UpdateUserResponse>> updateUser(UpdateUserRequest request) {
+        return delegate.updateUser(request);
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateRolesResponse>> createRoles(CreateRolesRequest request) {
+        return delegate.createRoles(request);
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateScopeResponse>> createScope(CreateScopeRequest request) {
+        return delegate.createScope(request);
+    }
+
+    @Override
+    public Mono<Void> assignRolesToUser(AssignRolesRequest request) {
+        return delegate.assignRolesToUser(request);
+    }
+
+    @Override
+    public Mono<Void> removeRolesFromUser(AssignRolesRequest request) {
+        return delegate.removeRolesFromUser(request);
+    }
+}
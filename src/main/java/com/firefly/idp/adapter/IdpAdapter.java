@@ -17,8 +17,14 @@
 
 package com.firefly.idp.adapter;
 
+import com.firefly.idp.adapter.batch.BatchIntrospection;
+import com.firefly.idp.adapter.batch.IntrospectionBatchOptions;
+import com.firefly.idp.adapter.batch.TokenIntrospectionResult;
+import com.firefly.idp.adapter.session.SessionQuery;
+import com.firefly.idp.adapter.session.SessionStreams;
 import com.firefly.idp.dtos.*;
 import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -130,6 +136,33 @@ public interface IdpAdapter {
      */
     Mono<ResponseEntity<List<SessionInfo>>> listSessions(String userId);
 
+    /**
+     * List one page of a user's sessions.
+     *
+     * The default implementation has no native paging: it returns every session for offset 0 and
+     * an empty list for any other offset. Providers whose session API supports paging should
+     * override it so {@link #streamSessions(String, SessionQuery)} fetches lazily.
+     *
+     * @param userId the user identifier
+     * @param offset index of the first session to return
+     * @param limit  maximum number of sessions to return
+     * @return a reactive publisher with the requested page of session information
+     */
+    default Mono<ResponseEntity<List<SessionInfo>>> listSessions(String userId, int offset, int limit) {
+        return offset == 0 ? listSessions(userId) : Mono.just(ResponseEntity.ok(List.of()));
+    }
+
+    /**
+     * Stream a user's sessions, paging through the provider lazily with backpressure.
+     *
+     * @param userId the user identifier
+     * @param query  page size and optional filters (e.g. last access before a cutoff)
+     * @return a reactive stream of the matching sessions
+     */
+    default Flux<SessionInfo> streamSessions(String userId, SessionQuery query) {
+        return SessionStreams.stream(this, userId, query);
+    }
+
     /**
      * Revoke a specific session by its identifier.
      *
@@ -189,4 +222,31 @@ public interface IdpAdapter {
      * @param request user id and role names to remove
      */
     Mono<Void> removeRolesFromUser(AssignRolesRequest request);
+
+    /**
+     * Introspect a stream of access tokens using default batch options.
+     *
+     * @param accessTokens the tokens to introspect
+     * @return a reactive stream with one result per input token, in input order
+     * @see #introspectAll(Flux, IntrospectionBatchOptions)
+     */
+    default Flux<TokenIntrospectionResult> introspectAll(Flux<String> accessTokens) {
+        return introspectAll(accessTokens, IntrospectionBatchOptions.builder().build());
+    }
+
+    /**
+     * Introspect a stream of access tokens with bounded concurrency and backpressure.
+     *
+     * The default implementation issues one {@link #introspect(String)} call per distinct token.
+     * Providers with a native batch introspection endpoint may override it. Decorators do not
+     * forward this method, so batches pass through the decorated {@code introspect}.
+     *
+     * @param accessTokens the tokens to introspect
+     * @param options      concurrency limit, result ordering and deduplication window
+     * @return a reactive stream with one result per input token; per-token failures are reported
+     * in the result rather than terminating the stream
+     */
+    default Flux<TokenIntrospectionResult> introspectAll(Flux<String> accessTokens, IntrospectionBatchOptions options) {
+        return BatchIntrospection.introspectAll(this, accessTokens, options);
+    }
 }
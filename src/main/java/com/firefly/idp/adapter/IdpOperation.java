@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter;
+
+/**
+ * The operations of {@link IdpAdapter}, used to label per-operation metrics, limits and policies.
+ */
+public enum IdpOperation {
+    LOGIN,
+    REFRESH,
+    LOGOUT,
+    INTROSPECT,
+    GET_USER_INFO,
+    CREATE_USER,
+    CHANGE_PASSWORD,
+    RESET_PASSWORD,
+    MFA_CHALLENGE,
+    MFA_VERIFY,
+    REVOKE_REFRESH_TOKEN,
+    LIST_SESSIONS,
+    REVOKE_SESSION,
+    GET_ROLES,
+    DELETE_USER,
+    UPDATE_USER,
+    CREATE_ROLES,
+    CREATE_SCOPE,
+    ASSIGN_ROLES_TO_USER,
+    REMOVE_ROLES_FROM_USER
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.batch;
+
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.support.SingleFlight;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Default implementation of {@link IdpAdapter#introspectAll(Flux, IntrospectionBatchOptions)}
+ * on top of single-token {@link IdpAdapter#introspect(String)} calls.
+ */
+public final class BatchIntrospection {
+
+    private BatchIntrospection() {
+    }
+
+    /**
+     * Introspect a stream of tokens with bounded concurrency.
+     *
+     * A token repeated while its introspection is still in flight shares that call; once it
+     * completes, the next occurrence is introspected again, so results never outlive the call
+     * that produced them. Upstream demand is bounded by the concurrency limit, and a failure for
+     * one token is reported in its result instead of terminating the stream.
+     *
+     * @param adapter      the adapter performing single-token introspection
+     * @param accessTokens the tokens to introspect
+     * @param options      concurrency and ordering settings
+     * @return a reactive stream with one result per input token
+     */
+    public static Flux<TokenIntrospectionResult> introspectAll(IdpAdapter adapter, Flux<String> accessTokens,
+                                                               IntrospectionBatchOptions options) {
+        int concurrency = Math.max(1, options.getConcurrency());
+        return Flux.defer(() -> {
+            SingleFlight<String, TokenIntrospectionResult> flights = new SingleFlight<>();
+            Function<String, Mono<TokenIntrospectionResult>> lookup =
+                    token -> flights.execute(token, () -> introspectOne(adapter, token));
+            return options.getOrder() == IntrospectionBatchOptions.Order.COMPLETION
+                    ? accessTokens.flatMap(lookup, concurrency)
+                    : accessTokens.flatMapSequential(lookup, concurrency);
+        });
+    }
+
+    private static Mono<TokenIntrospectionResult> introspectOne(IdpAdapter adapter, String token) {
+        return Mono.defer(() -> adapter.introspect(token))
+                .map(response -> TokenIntrospectionResult.builder().accessToken(token).response(response).build())
+                .onErrorResume(e -> Mono.just(TokenIntrospectionResult.builder().accessToken(token).error(e).build()))
+                .defaultIfEmpty(TokenIntrospectionResult.builder().accessToken(token).build());
+    }
+}
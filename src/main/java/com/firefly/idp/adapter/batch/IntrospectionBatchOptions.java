@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Settings for {@code IdpAdapter.introspectAll}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntrospectionBatchOptions {
+
+    /** Maximum number of introspections in flight at once. */
+    @Builder.Default
+    private int concurrency = 16;
+
+    /** Order in which results are emitted. */
+    @Builder.Default
+    private Order order = Order.INPUT;
+
+    /**
+     * Formerly the number of completed results remembered for deduplication. Ignored: only
+     * introspections still in flight are shared, so no result is reused after it completes.
+     */
+    @Deprecated
+    @Builder.Default
+    private int deduplicationWindow = 10_000;
+
+    public enum Order {
+        /** Results follow the order of the input tokens. */
+        INPUT,
+        /** Results are emitted as soon as each introspection completes. */
+        COMPLETION
+    }
+}
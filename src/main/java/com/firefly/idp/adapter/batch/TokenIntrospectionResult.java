@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.batch;
+
+import com.firefly.idp.dtos.IntrospectionResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Outcome of introspecting one token within a batch.
+ * Exactly one of {@code response} and {@code error} is set, unless the adapter completed empty.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenIntrospectionResult {
+    private String accessToken;
+    private ResponseEntity<IntrospectionResponse> response;
+    private Throwable error;
+
+    /**
+     * @return true when the adapter produced a response for this token
+     */
+    public boolean isSuccess() {
+        return error == null && response != null;
+    }
+}
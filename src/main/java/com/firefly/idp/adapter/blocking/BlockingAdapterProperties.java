@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.blocking;
+
+import com.firefly.idp.adapter.IdpOperation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings for {@link BlockingIdpAdapter}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlockingAdapterProperties {
+
+    /** Time a call may take, including waiting for a concurrency permit. */
+    @Builder.Default
+    private Duration timeout = Duration.ofSeconds(10);
+
+    /** Concurrent calls allowed per operation. */
+    @Builder.Default
+    private int maxConcurrency = 256;
+
+    /** Per-operation overrides of {@link #timeout}. */
+    @Builder.Default
+    private Map<IdpOperation, Duration> operationTimeouts = new EnumMap<>(IdpOperation.class);
+
+    /** Per-operation overrides of {@link #maxConcurrency}. */
+    @Builder.Default
+    private Map<IdpOperation, Integer> operationMaxConcurrency = new EnumMap<>(IdpOperation.class);
+}
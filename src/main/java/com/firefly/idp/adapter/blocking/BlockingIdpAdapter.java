@@ -0,0 +1,328 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.blocking;
+
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.IdpOperation;
+import com.firefly.idp.dtos.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class for adapters built on blocking provider SDKs.
+ *
+ * Implementors override the {@code doXxx} methods with plain blocking code; each call runs on its
+ * own virtual thread, so a blocked SDK call parks a cheap virtual thread instead of pinning a
+ * {@code boundedElastic} platform thread. Operations that are not overridden fail with
+ * {@code 501 Not Implemented}.
+ * <p>
+ * Each operation has a concurrency cap, enforced by a semaphore acquired on the virtual thread,
+ * and a timeout covering both the wait for a permit and the call; a timed-out call is interrupted
+ * and fails with {@code 504 Gateway Timeout}. The subscriber's Reactor context is available to the
+ * blocking code through {@link #currentContext()}. Call {@link #close()} to stop the executor.
+ */
+public abstract class BlockingIdpAdapter implements IdpAdapter, AutoCloseable {
+
+    private static final ThreadLocal<ContextView> CONTEXT = new ThreadLocal<>();
+
+    private final Scheduler scheduler;
+    private final Map<IdpOperation, Semaphore> permits = new EnumMap<>(IdpOperation.class);
+    private final Map<IdpOperation, Duration> timeouts = new EnumMap<>(IdpOperation.class);
+
+    protected BlockingIdpAdapter() {
+        this(BlockingAdapterProperties.builder().build());
+    }
+
+    protected BlockingIdpAdapter(BlockingAdapterProperties properties) {
+        Objects.requireNonNull(properties, "properties");
+        for (IdpOperation operation : IdpOperation.values()) {
+            int limit = properties.getOperationMaxConcurrency().getOrDefault(operation, properties.getMaxConcurrency());
+            permits.put(operation, new Semaphore(Math.max(1, limit)));
+            timeouts.put(operation, properties.getOperationTimeouts().getOrDefault(operation, properties.getTimeout()));
+        }
+        this.scheduler = Schedulers.fromExecutorService(Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(getClass().getSimpleName() + "-", 0).factory()), getClass().getSimpleName());
+    }
+
+    /**
+     * @return the Reactor context of the subscriber of the current call, or an empty context when
+     *         called outside a call
+     */
+    protected static ContextView currentContext() {
+        ContextView context = CONTEXT.get();
+        return context != null ? context : Context.empty();
+    }
+
+    @Override
+    public void close() {
+        scheduler.dispose();
+    }
+
+    @Override
+    public final Mono<ResponseEntity<TokenResponse>> login(LoginRequest request) {
+        return call(IdpOperation.LOGIN, () -> doLogin(request));
+    }
+
+    @Override
+    public final Mono<ResponseEntity<TokenResponse>> refresh(RefreshRequest request) {
+        return call(IdpOperation.REFRESH, () -> doRefresh(request));
+    }
+
+    @Override
+    public final Mono<Void> logout(LogoutRequest request) {
+        return call(IdpOperation.LOGOUT, () -> {
+            doLogout(request);
+            return null;
+        });
+    }
+
+    @Override
+    public final Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+        return call(IdpOperation.INTROSPECT, () -> doIntrospect(accessToken));
+    }
+
+    @Override
+    public final Mono<ResponseEntity<UserInfoResponse>> getUserInfo(String accessToken) {
+        return call(IdpOperation.GET_USER_INFO, () -> doGetUserInfo(accessToken));
+    }
+
+    @Override
+    public final Mono<ResponseEntity<CreateUserResponse>> createUser(CreateUserRequest request) {
+        return call(IdpOperation.CREATE_USER, () -> doCreateUser(request));
+    }
+
+    @Override
+    public final Mono<Void> changePassword(ChangePasswordRequest request) {
+        return call(IdpOperation.CHANGE_PASSWORD, () -> {
+            doChangePassword(request);
+            return null;
+        });
+    }
+
+    @Override
+    public final Mono<Void> resetPassword(String username) {
+        return call(IdpOperation.RESET_PASSWORD, () -> {
+            doResetPassword(username);
+            return null;
+        });
+    }
+
+    @Override
+    public final Mono<ResponseEntity<MfaChallengeResponse>> mfaChallenge(String username) {
+        return call(IdpOperation.MFA_CHALLENGE, () -> doMfaChallenge(username));
+    }
+
+    @Override
+    public final Mono<Void> mfaVerify(MfaVerifyRequest request) {
+        return call(IdpOperation.MFA_VERIFY, () -> {
+            doMfaVerify(request);
+            return null;
+        });
+    }
+
+    @Override
+    public final Mono<Void> revokeRefreshToken(String refreshToken) {
+        return call(IdpOperation.REVOKE_REFRESH_TOKEN, () -> {
+            doRevokeRefreshToken(refreshToken);
+            return null;
+        });
+    }
+
+    @Override
+    public final Mono<ResponseEntity<List<SessionInfo>>> listSessions(String userId) {
+        return call(IdpOperation.LIST_SESSIONS, () -> doListSessions(userId));
+    }
+
+    @Override
+    public final Mono<Void> revokeSession(String sessionId) {
+        return call(IdpOperation.REVOKE_SESSION, () -> {
+            doRevokeSession(sessionId);
+            return null;
+        });
+    }
+
+    @Override
+    public final Mono<ResponseEntity<List<String>>> getRoles(String userId) {
+        return call(IdpOperation.GET_ROLES, () -> doGetRoles(userId));
+    }
+
+    @Override
+    public final Mono<Void> deleteUser(String userId) {
+        return call(IdpOperation.DELETE_USER, () -> {
+            doDeleteUser(userId);
+            return null;
+        });
+    }
+
+    @Override
+    public final Mono<ResponseEntity<UpdateUserResponse>> updateUser(UpdateUserRequest request) {
+        return call(IdpOperation.UPDATE_USER, () -> doUpdateUser(request));
+    }
+
+    @Override
+    public final Mono<ResponseEntity<CreateRolesResponse>> createRoles(CreateRolesRequest request) {
+        return call(IdpOperation.CREATE_ROLES, () -> doCreateRoles(request));
+    }
+
+    @Override
+    public final Mono<ResponseEntity<CreateScopeResponse>> createScope(CreateScopeRequest request) {
+        return call(IdpOperation.CREATE_SCOPE, () -> doCreateScope(request));
+    }
+
+    @Override
+    public final Mono<Void> assignRolesToUser(AssignRolesRequest request) {
+        return call(IdpOperation.ASSIGN_ROLES_TO_USER, () -> {
+            doAssignRolesToUser(request);
+            return null;
+        });
+    }
+
+    @Override
+    public final Mono<Void> removeRolesFromUser(AssignRolesRequest request) {
+        return call(IdpOperation.REMOVE_ROLES_FROM_USER, () -> {
+            doRemoveRolesFromUser(request);
+            return null;
+        });
+    }
+
+    // Blocking implementations, each invoked on a virtual thread. Exceptions propagate to the
+    // subscriber unchanged, so throw ResponseStatusException to report a specific status.
+
+    protected ResponseEntity<TokenResponse> doLogin(LoginRequest request) throws Exception {
+        throw unsupported(IdpOperation.LOGIN);
+    }
+
+    protected ResponseEntity<TokenResponse> doRefresh(RefreshRequest request) throws Exception {
+        throw unsupported(IdpOperation.REFRESH);
+    }
+
+    protected void doLogout(LogoutRequest request) throws Exception {
+        throw unsupported(IdpOperation.LOGOUT);
+    }
+
+    protected ResponseEntity<IntrospectionResponse> doIntrospect(String accessToken) throws Exception {
+        throw unsupported(IdpOperation.INTROSPECT);
+    }
+
+    protected ResponseEntity<UserInfoResponse> doGetUserInfo(String accessToken) throws Exception {
+        throw unsupported(IdpOperation.GET_USER_INFO);
+    }
+
+    protected ResponseEntity<CreateUserResponse> doCreateUser(CreateUserRequest request) throws Exception {
+        throw unsupported(IdpOperation.CREATE_USER);
+    }
+
+    protected void doChangePassword(ChangePasswordRequest request) throws Exception {
+        throw unsupported(IdpOperation.CHANGE_PASSWORD);
+    }
+
+    protected void doResetPassword(String username) throws Exception {
+        throw unsupported(IdpOperation.RESET_PASSWORD);
+    }
+
+    protected ResponseEntity<MfaChallengeResponse> doMfaChallenge(String username) throws Exception {
+        throw unsupported(IdpOperation.MFA_CHALLENGE);
+    }
+
+    protected void doMfaVerify(MfaVerifyRequest request) throws Exception {
+        throw unsupported(IdpOperation.MFA_VERIFY);
+    }
+
+    protected void doRevokeRefreshToken(String refreshToken) throws Exception {
+        throw unsupported(IdpOperation.REVOKE_REFRESH_TOKEN);
+    }
+
+    protected ResponseEntity<List<SessionInfo>> doListSessions(String userId) throws Exception {
+        throw unsupported(IdpOperation.LIST_SESSIONS);
+    }
+
+    protected void doRevokeSession(String sessionId) throws Exception {
+        throw unsupported(IdpOperation.REVOKE_SESSION);
+    }
+
+    protected ResponseEntity<List<String>> doGetRoles(String userId) throws Exception {
+        throw unsupported(IdpOperation.GET_ROLES);
+    }
+
+    protected void doDeleteUser(String userId) throws Exception {
+        throw unsupported(IdpOperation.DELETE_USER);
+    }
+
+    protected ResponseEntity<UpdateUserResponse> doUpdateUser(UpdateUserRequest request) throws Exception {
+        throw unsupported(IdpOperation.UPDATE_USER);
+    }
+
+    protected ResponseEntity<CreateRolesResponse> doCreateRoles(CreateRolesRequest request) throws Exception {
+        throw unsupported(IdpOperation.CREATE_ROLES);
+    }
+
+    protected ResponseEntity<CreateScopeResponse> doCreateScope(CreateScopeRequest request) throws Exception {
+        throw unsupported(IdpOperation.CREATE_SCOPE);
+    }
+
+    protected void doAssignRolesToUser(AssignRolesRequest request) throws Exception {
+        throw unsupported(IdpOperation.ASSIGN_ROLES_TO_USER);
+    }
+
+    protected void doRemoveRolesFromUser(AssignRolesRequest request) throws Exception {
+        throw unsupported(IdpOperation.REMOVE_ROLES_FROM_USER);
+    }
+
+    private <T> Mono<T> call(IdpOperation operation, Callable<T> body) {
+        Duration timeout = timeouts.get(operation);
+        Semaphore semaphore = permits.get(operation);
+        return Mono.deferContextual(context -> Mono.fromCallable(() -> {
+                    if (!semaphore.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                        throw timedOut(operation);
+                    }
+                    CONTEXT.set(context);
+                    try {
+                        return body.call();
+                    } finally {
+                        CONTEXT.remove();
+                        semaphore.release();
+                    }
+                })
+                .subscribeOn(scheduler)
+                .timeout(timeout, Mono.error(() -> timedOut(operation))));
+    }
+
+    private static ResponseStatusException timedOut(IdpOperation operation) {
+        return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, operation + " timed out");
+    }
+
+    private static ResponseStatusException unsupported(IdpOperation operation) {
+        return new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED, operation + " is not supported by this provider");
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.dtos.IntrospectionResponse;
+import com.firefly.idp.dtos.LogoutRequest;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link IdpAdapter} decorator that caches {@link #introspect(String)} results.
+ *
+ * Results are keyed by a hash of the token and kept until the earlier of the configured TTL and
+ * the token's {@code exp} claim. Logging out or revoking through this adapter evicts the matching
+ * entries, both before and after the delegate call so a concurrent introspection cannot re-insert
+ * a stale result. Cached responses are shared between callers and must be treated as read-only.
+ * Results live in an {@link IntrospectionStore}, on-heap by default.
+ */
+public class CachingIdpAdapter extends ForwardingIdpAdapter {
+
+    private final IntrospectionCacheProperties properties;
+    private final Clock clock;
+    private final IntrospectionStore cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CachingIdpAdapter(IdpAdapter delegate) {
+        this(delegate, IntrospectionCacheProperties.builder().build());
+    }
+
+    public CachingIdpAdapter(IdpAdapter delegate, IntrospectionCacheProperties properties) {
+        this(delegate, properties, Clock.systemUTC());
+    }
+
+    public CachingIdpAdapter(IdpAdapter delegate, IntrospectionCacheProperties properties, Clock clock) {
+        this(delegate, properties, new HeapIntrospectionStore(properties.getMaximumSize(), clock), clock);
+    }
+
+    /**
+     * @param store backend holding the results; {@code maximumSize} of the properties is not applied to it
+     */
+    public CachingIdpAdapter(IdpAdapter delegate, IntrospectionCacheProperties properties,
+                             IntrospectionStore store, Clock clock) {
+        super(delegate);
+        this.properties = Objects.requireNonNull(properties, "properties");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.cache = Objects.requireNonNull(store, "store");
+    }
+
+    @Override
+    public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+        if (accessToken == null) {
+            return super.introspect(null);
+        }
+        return Mono.defer(() -> {
+            TokenKey key = TokenKey.of(accessToken);
+            IntrospectionResponse cached = cache.get(key);
+            if (cached != null) {
+                return Mono.just(ResponseEntity.ok(cached));
+            }
+            long generation = invalidations.get();
+            return super.introspect(accessToken)
+                    .doOnNext(response -> store(key, response, generation));
+        });
+    }
+
+    @Override
+    public Mono<Void> logout(LogoutRequest request) {
+        return evictAround(super.logout(request), () -> {
+            evict(request.getAccessToken());
+            evict(request.getRefreshToken());
+        });
+    }
+
+    @Override
+    public Mono<Void> revokeRefreshToken(String refreshToken) {
+        return evictAround(super.revokeRefreshToken(refreshToken), () -> {
+            evict(refreshToken);
+            evictAllOnSessionRevocation();
+        });
+    }
+
+    @Override
+    public Mono<Void> revokeSession(String sessionId) {
+        return evictAround(super.revokeSession(sessionId), this::evictAllOnSessionRevocation);
+    }
+
+    /**
+     * @return the number of cached introspection results
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    private void store(TokenKey key, ResponseEntity<IntrospectionResponse> response, long generation) {
+        IntrospectionResponse body = response.getBody();
+        if (body == null || !response.getStatusCode().is2xxSuccessful()) {
+            return;
+        }
+        long now = clock.millis();
+        long expiresAt = now + (body.isActive() ? properties.getTtl() : properties.getInactiveTtl()).toMillis();
+        if (body.getExp() != null) {
+            expiresAt = Math.min(expiresAt, body.getExp() * 1000L);
+        }
+        if (expiresAt > now && invalidations.get() == generation) {
+            cache.put(key, body, expiresAt);
+        }
+    }
+
+    private Mono<Void> evictAround(Mono<Void> call, Runnable eviction) {
+        return Mono.fromRunnable(eviction)
+                .then(call)
+                .doFinally(signal -> eviction.run());
+    }
+
+    private void evict(String token) {
+        if (token != null) {
+            invalidations.incrementAndGet();
+            cache.invalidate(TokenKey.of(token));
+        }
+    }
+
+    private void evictAllOnSessionRevocation() {
+        if (properties.isInvalidateAllOnSessionRevocation()) {
+            invalidations.incrementAndGet();
+            cache.invalidateAll();
+        }
+    }
+}
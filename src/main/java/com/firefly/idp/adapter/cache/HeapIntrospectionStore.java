@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache;
+
+import com.firefly.idp.dtos.IntrospectionResponse;
+
+import java.time.Clock;
+
+/**
+ * Default {@link IntrospectionStore} keeping response objects in a {@link LocalCache}.
+ */
+public class HeapIntrospectionStore implements IntrospectionStore {
+
+    private final LocalCache<TokenKey, IntrospectionResponse> cache;
+
+    public HeapIntrospectionStore(long maximumSize, Clock clock) {
+        this.cache = new LocalCache<>(maximumSize, clock);
+    }
+
+    @Override
+    public IntrospectionResponse get(TokenKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void put(TokenKey key, IntrospectionResponse response, long expiresAtMillis) {
+        cache.put(key, response, expiresAtMillis);
+    }
+
+    @Override
+    public void invalidate(TokenKey key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public long size() {
+        return cache.size();
+    }
+}
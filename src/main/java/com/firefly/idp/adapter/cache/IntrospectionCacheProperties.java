@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link CachingIdpAdapter}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntrospectionCacheProperties {
+
+    /** Maximum time an active result is reused; entries never outlive the token's {@code exp}. */
+    @Builder.Default
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /** Time an inactive result is reused, shielding the IdP from floods of bad tokens. Zero disables. */
+    @Builder.Default
+    private Duration inactiveTtl = Duration.ofSeconds(10);
+
+    /** Upper bound on the number of cached results. */
+    @Builder.Default
+    private long maximumSize = 100_000;
+
+    /**
+     * Whether revoking a session or refresh token clears the whole cache. Introspection results do
+     * not identify the session an access token belongs to, so this is the only way to guarantee
+     * that tokens of a revoked session stop being served from cache.
+     */
+    @Builder.Default
+    private boolean invalidateAllOnSessionRevocation = true;
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache;
+
+import com.firefly.idp.dtos.IntrospectionResponse;
+
+/**
+ * Storage backend of {@link CachingIdpAdapter}.
+ *
+ * Implementations must be thread-safe, honour the expiry passed to {@link #put} and may drop any
+ * entry at any time to stay within their size bound.
+ */
+public interface IntrospectionStore {
+
+    /**
+     * @return the unexpired response stored for the key, or {@code null}
+     */
+    IntrospectionResponse get(TokenKey key);
+
+    /**
+     * Store a response until the given epoch millis.
+     */
+    void put(TokenKey key, IntrospectionResponse response, long expiresAtMillis);
+
+    void invalidate(TokenKey key);
+
+    void invalidateAll();
+
+    /**
+     * @return the number of stored responses, possibly approximate
+     */
+    long size();
+}
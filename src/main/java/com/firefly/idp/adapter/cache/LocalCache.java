@@ -0,0 +1,204 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Bounded, expiring in-process cache.
+ *
+ * Entries are spread over independently locked segments, each kept in access order so the least
+ * recently used entry of a segment is evicted once it exceeds its share of the maximum size.
+ * Every entry carries its own absolute expiry, which lets callers bound the lifetime by data
+ * such as a token's {@code exp} rather than by a single global TTL.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class LocalCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 64;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final Clock clock;
+
+    /**
+     * @param maximumSize upper bound on the number of entries held
+     * @param clock       clock used to evaluate entry expiry
+     */
+    public LocalCache(long maximumSize, Clock clock) {
+        this(maximumSize, clock, null);
+    }
+
+    /**
+     * @param maximumSize     upper bound on the number of entries held
+     * @param clock           clock used to evaluate entry expiry
+     * @param removalListener receives the key and value of each removed entry; may be null
+     */
+    @SuppressWarnings("unchecked")
+    public LocalCache(long maximumSize, Clock clock, BiConsumer<? super K, ? super V> removalListener) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.clock = Objects.requireNonNull(clock, "clock");
+        int count = segmentCount(maximumSize);
+        long perSegment = Math.max(1, (maximumSize + count - 1) / count);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(perSegment, removalListener);
+        }
+        this.segmentMask = count - 1;
+    }
+
+    /**
+     * @param key the key to look up
+     * @return the cached value, or null when absent or expired
+     */
+    public V getIfPresent(K key) {
+        return segmentFor(key).get(key, clock.millis());
+    }
+
+    /**
+     * Store a value until the given instant.
+     *
+     * @param key             the key
+     * @param value           the value
+     * @param expiresAtMillis absolute expiry in epoch milliseconds
+     */
+    public void put(K key, V value, long expiresAtMillis) {
+        if (expiresAtMillis <= clock.millis()) {
+            return;
+        }
+        segmentFor(key).put(key, value, expiresAtMillis);
+    }
+
+    /**
+     * @param key the key to remove
+     */
+    public void invalidate(K key) {
+        segmentFor(key).remove(key);
+    }
+
+    /**
+     * Remove every entry.
+     */
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * @return the number of entries currently held, including ones not yet purged after expiry
+     */
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & segmentMask];
+    }
+
+    private static int segmentCount(long maximumSize) {
+        int target = Math.min(MAX_SEGMENTS, Runtime.getRuntime().availableProcessors() * 4);
+        int count = 1;
+        while (count < target && count * 16L <= maximumSize) {
+            count <<= 1;
+        }
+        return count;
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAtMillis;
+
+        Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private static final class Segment<K, V> {
+        private final long capacity;
+        private final BiConsumer<? super K, ? super V> removalListener;
+        private final LinkedHashMap<K, Entry<V>> map;
+
+        Segment(long capacity, BiConsumer<? super K, ? super V> removalListener) {
+            this.capacity = capacity;
+            this.removalListener = removalListener;
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > Segment.this.capacity) {
+                        removed(eldest.getKey(), eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized V get(K key, long now) {
+            Entry<V> entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAtMillis <= now) {
+                map.remove(key);
+                removed(key, entry);
+                return null;
+            }
+            return entry.value;
+        }
+
+        synchronized void put(K key, V value, long expiresAtMillis) {
+            map.put(key, new Entry<>(value, expiresAtMillis));
+        }
+
+        synchronized void remove(K key) {
+            removed(key, map.remove(key));
+        }
+
+        synchronized void clear() {
+            if (removalListener != null) {
+                map.forEach(this::removed);
+            }
+            map.clear();
+        }
+
+        private void removed(K key, Entry<V> entry) {
+            if (removalListener != null && entry != null) {
+                removalListener.accept(key, entry.value);
+            }
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+    }
+}
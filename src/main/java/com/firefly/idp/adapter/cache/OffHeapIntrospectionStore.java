@@ -0,0 +1,386 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache;
+
+import com.firefly.idp.dtos.IntrospectionResponse;
+import com.firefly.idp.dtos.enums.UserRoleEnum;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * {@link IntrospectionStore} keeping entries in direct memory, out of reach of the garbage collector.
+ *
+ * The store is a set-associative table of fixed 256-byte slots in direct {@link ByteBuffer}s
+ * allocated once, so its footprint is fixed by {@link OffHeapStoreProperties#getCapacityBytes()}.
+ * A slot holds the {@link TokenKey}, expiry, {@code exp}/{@code iat}, {@code active}, the
+ * {@code userRole} ordinal, {@code partyId} as two longs, 16-bit dictionary codes for
+ * {@code iss}, {@code aud} and {@code scope}, and {@code sub}, {@code username} and {@code jti}
+ * inline as UTF-8. Responses that do not fit are simply not cached. The DTO is only built on a hit.
+ * <p>
+ * Each set is evicted with the CLOCK algorithm: hits set a reference bit, and a miss that needs a
+ * slot sweeps the set's hand past referenced entries, clearing their bit, to the first unreferenced
+ * one. The reference bit has a byte of its own, so lock-free readers can set it without racing
+ * writers over the other flags. Expired and invalidated slots are reused first. Sets are guarded by striped
+ * {@link StampedLock}s whose optimistic reads make lookups lock-free. {@link #invalidateAll()}
+ * bumps an epoch stored in every slot rather than touching memory.
+ */
+public class OffHeapIntrospectionStore implements IntrospectionStore {
+
+    static final int SLOT_BYTES = 256;
+
+    private static final int KEY_HIGH = 0;
+    private static final int KEY_LOW = 8;
+    private static final int EXPIRES_AT = 16;
+    private static final int EXP = 24;
+    private static final int IAT = 32;
+    private static final int PARTY_MSB = 40;
+    private static final int PARTY_LSB = 48;
+    private static final int EPOCH = 56;
+    private static final int FLAGS = 60;
+    private static final int ROLE = 61;
+    private static final int ISS = 62;
+    private static final int AUD = 64;
+    private static final int SCOPE = 66;
+    private static final int REFERENCE = 68;
+    private static final int STRINGS = 69;
+    private static final int STRING_COUNT = 3;
+    private static final int STRING_BYTES = SLOT_BYTES - STRINGS - STRING_COUNT;
+
+    private static final byte OCCUPIED = 1;
+    private static final byte ACTIVE = 1 << 1;
+    private static final byte HAS_PARTY = 1 << 2;
+
+    private static final int NULL_LENGTH = 0xFF;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int SEGMENT_BYTES = 1 << 30;
+    private static final int LOCK_STRIPES = 4096;
+    private static final UserRoleEnum[] ROLES = UserRoleEnum.values();
+
+    private final Clock clock;
+    private final int ways;
+    private final int setMask;
+    private final int setsPerSegmentShift;
+    private final ByteBuffer[] segments;
+    private final byte[] hands;
+    private final StampedLock[] locks;
+    private final ValueDictionary<String> issuers;
+    private final ValueDictionary<List<String>> audiences;
+    private final ValueDictionary<String> scopes;
+    private final AtomicInteger epoch = new AtomicInteger();
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public OffHeapIntrospectionStore(OffHeapStoreProperties properties, Clock clock) {
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.ways = Math.min(128, Integer.highestOneBit(Math.max(1, properties.getWays() * 2 - 1)));
+        long setBytes = (long) ways * SLOT_BYTES;
+        long sets = Long.highestOneBit(Math.max(1, properties.getCapacityBytes() / setBytes));
+        sets = Math.min(sets, 1 << 30);
+        this.setMask = (int) sets - 1;
+        int setsPerSegment = (int) Math.min(sets, SEGMENT_BYTES / setBytes);
+        this.setsPerSegmentShift = Integer.numberOfTrailingZeros(setsPerSegment);
+        this.segments = new ByteBuffer[(int) (sets / setsPerSegment)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect((int) (setsPerSegment * setBytes));
+        }
+        this.hands = new byte[(int) sets];
+        this.locks = new StampedLock[(int) Math.min(sets, LOCK_STRIPES)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new StampedLock();
+        }
+        this.issuers = new ValueDictionary<>(properties.getDictionarySize());
+        this.audiences = new ValueDictionary<>(properties.getDictionarySize());
+        this.scopes = new ValueDictionary<>(properties.getDictionarySize());
+    }
+
+    @Override
+    public IntrospectionResponse get(TokenKey key) {
+        int set = setOf(key);
+        StampedLock lock = locks[set & (locks.length - 1)];
+        long stamp = lock.tryOptimisticRead();
+        Snapshot snapshot = read(set, key);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                snapshot = read(set, key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return snapshot == null ? null : snapshot.materialise();
+    }
+
+    @Override
+    public void put(TokenKey key, IntrospectionResponse response, long expiresAtMillis) {
+        int iss = issuers.encode(response.getIss());
+        int aud = audiences.encode(response.getAud() == null ? null : List.copyOf(response.getAud()));
+        int scope = scopes.encode(response.getScope());
+        byte[][] strings = {utf8(response.getSub()), utf8(response.getUsername()), utf8(response.getJti())};
+        if (iss == ValueDictionary.NONE || aud == ValueDictionary.NONE || scope == ValueDictionary.NONE
+                || encodedLength(strings) > STRING_BYTES) {
+            rejected.incrementAndGet();
+            return;
+        }
+        int set = setOf(key);
+        StampedLock lock = locks[set & (locks.length - 1)];
+        long stamp = lock.writeLock();
+        try {
+            ByteBuffer buffer = segment(set);
+            int slot = findSlot(buffer, set, key);
+            if (!isCounted(buffer, slot)) {
+                size.incrementAndGet();
+            }
+            write(buffer, slot, key, response, expiresAtMillis, iss, aud, scope, strings);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void invalidate(TokenKey key) {
+        int set = setOf(key);
+        StampedLock lock = locks[set & (locks.length - 1)];
+        long stamp = lock.writeLock();
+        try {
+            ByteBuffer buffer = segment(set);
+            int slot = lookup(buffer, set, key);
+            if (slot >= 0) {
+                size.decrementAndGet();
+                buffer.put(slot + FLAGS, (byte) 0);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        size.set(0);
+    }
+
+    /**
+     * @return occupied slots of the current generation, including expired entries not yet reused;
+     *         never more than {@link #capacity()}, approximate while {@link #invalidateAll()} runs
+     */
+    @Override
+    public long size() {
+        return Math.max(0, size.get());
+    }
+
+    /**
+     * @return the number of responses not cached because they did not fit the slot layout
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * @return the number of entries the store can hold
+     */
+    public long capacity() {
+        return (long) (setMask + 1) * ways;
+    }
+
+    private int setOf(TokenKey key) {
+        return (int) (key.getLow() ^ (key.getLow() >>> 32)) & setMask;
+    }
+
+    private ByteBuffer segment(int set) {
+        return segments[set >>> setsPerSegmentShift];
+    }
+
+    private int setOffset(int set) {
+        return (set & ((1 << setsPerSegmentShift) - 1)) * ways * SLOT_BYTES;
+    }
+
+    private boolean isLive(ByteBuffer buffer, int slot, long now) {
+        return isCounted(buffer, slot) && buffer.getLong(slot + EXPIRES_AT) > now;
+    }
+
+    /**
+     * @return whether the slot is included in {@link #size()}: occupied in the current generation
+     */
+    private boolean isCounted(ByteBuffer buffer, int slot) {
+        return (buffer.get(slot + FLAGS) & OCCUPIED) != 0 && buffer.getInt(slot + EPOCH) == epoch.get();
+    }
+
+    private int lookup(ByteBuffer buffer, int set, TokenKey key) {
+        int base = setOffset(set);
+        int current = epoch.get();
+        for (int way = 0; way < ways; way++) {
+            int slot = base + way * SLOT_BYTES;
+            if ((buffer.get(slot + FLAGS) & OCCUPIED) != 0
+                    && buffer.getInt(slot + EPOCH) == current
+                    && buffer.getLong(slot + KEY_LOW) == key.getLow()
+                    && buffer.getLong(slot + KEY_HIGH) == key.getHigh()) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Pick the slot for a write: the key's own slot, else a dead one, else the CLOCK victim.
+     */
+    private int findSlot(ByteBuffer buffer, int set, TokenKey key) {
+        int existing = lookup(buffer, set, key);
+        if (existing >= 0) {
+            return existing;
+        }
+        int base = setOffset(set);
+        long now = clock.millis();
+        for (int way = 0; way < ways; way++) {
+            int slot = base + way * SLOT_BYTES;
+            if (!isLive(buffer, slot, now)) {
+                return slot;
+            }
+        }
+        int hand = hands[set] & 0xFF;
+        while (true) {
+            int slot = base + hand * SLOT_BYTES;
+            hand = (hand + 1) & (ways - 1);
+            if (buffer.get(slot + REFERENCE) != 0) {
+                buffer.put(slot + REFERENCE, (byte) 0);
+            } else {
+                hands[set] = (byte) hand;
+                return slot;
+            }
+        }
+    }
+
+    private Snapshot read(int set, TokenKey key) {
+        ByteBuffer buffer = segment(set);
+        int slot = lookup(buffer, set, key);
+        if (slot < 0 || buffer.getLong(slot + EXPIRES_AT) <= clock.millis()) {
+            return null;
+        }
+        if (buffer.get(slot + REFERENCE) == 0) {
+            buffer.put(slot + REFERENCE, (byte) 1);
+        }
+        Snapshot snapshot = new Snapshot();
+        snapshot.flags = buffer.get(slot + FLAGS);
+        snapshot.exp = buffer.getLong(slot + EXP);
+        snapshot.iat = buffer.getLong(slot + IAT);
+        snapshot.partyMsb = buffer.getLong(slot + PARTY_MSB);
+        snapshot.partyLsb = buffer.getLong(slot + PARTY_LSB);
+        snapshot.role = buffer.get(slot + ROLE) & 0xFF;
+        snapshot.iss = buffer.getShort(slot + ISS) & 0xFFFF;
+        snapshot.aud = buffer.getShort(slot + AUD) & 0xFFFF;
+        snapshot.scope = buffer.getShort(slot + SCOPE) & 0xFFFF;
+        buffer.get(slot + STRINGS, snapshot.strings, 0, STRING_COUNT + STRING_BYTES);
+        return snapshot;
+    }
+
+    private void write(ByteBuffer buffer, int slot, TokenKey key, IntrospectionResponse response,
+                       long expiresAtMillis, int iss, int aud, int scope, byte[][] strings) {
+        UUID partyId = response.getPartyId();
+        UserRoleEnum role = response.getUserRole();
+        buffer.putLong(slot + KEY_HIGH, key.getHigh());
+        buffer.putLong(slot + KEY_LOW, key.getLow());
+        buffer.putLong(slot + EXPIRES_AT, expiresAtMillis);
+        buffer.putLong(slot + EXP, response.getExp() == null ? NULL_LONG : response.getExp());
+        buffer.putLong(slot + IAT, response.getIat() == null ? NULL_LONG : response.getIat());
+        buffer.putLong(slot + PARTY_MSB, partyId == null ? 0 : partyId.getMostSignificantBits());
+        buffer.putLong(slot + PARTY_LSB, partyId == null ? 0 : partyId.getLeastSignificantBits());
+        buffer.putInt(slot + EPOCH, epoch.get());
+        buffer.put(slot + ROLE, (byte) (role == null ? 0 : role.ordinal() + 1));
+        buffer.putShort(slot + ISS, (short) iss);
+        buffer.putShort(slot + AUD, (short) aud);
+        buffer.putShort(slot + SCOPE, (short) scope);
+        buffer.put(slot + REFERENCE, (byte) 0);
+        int position = slot + STRINGS + STRING_COUNT;
+        for (int i = 0; i < STRING_COUNT; i++) {
+            byte[] value = strings[i];
+            buffer.put(slot + STRINGS + i, (byte) (value == null ? NULL_LENGTH : value.length));
+            if (value != null) {
+                buffer.put(position, value);
+                position += value.length;
+            }
+        }
+        buffer.put(slot + FLAGS, (byte) (OCCUPIED
+                | (response.isActive() ? ACTIVE : 0)
+                | (partyId != null ? HAS_PARTY : 0)));
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int encodedLength(byte[][] strings) {
+        int length = 0;
+        for (byte[] value : strings) {
+            if (value != null) {
+                if (value.length >= NULL_LENGTH) {
+                    return Integer.MAX_VALUE;
+                }
+                length += value.length;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Raw slot contents copied out under the lock, decoded into a DTO after validation.
+     */
+    private final class Snapshot {
+        byte flags;
+        long exp;
+        long iat;
+        long partyMsb;
+        long partyLsb;
+        int role;
+        int iss;
+        int aud;
+        int scope;
+        final byte[] strings = new byte[STRING_COUNT + STRING_BYTES];
+
+        IntrospectionResponse materialise() {
+            IntrospectionResponse response = new IntrospectionResponse();
+            response.setActive((flags & ACTIVE) != 0);
+            response.setExp(exp == NULL_LONG ? null : exp);
+            response.setIat(iat == NULL_LONG ? null : iat);
+            response.setPartyId((flags & HAS_PARTY) != 0 ? new UUID(partyMsb, partyLsb) : null);
+            response.setUserRole(role == 0 || role > ROLES.length ? null : ROLES[role - 1]);
+            response.setIss(issuers.decode(iss));
+            response.setAud(audiences.decode(aud));
+            response.setScope(scopes.decode(scope));
+            int position = STRING_COUNT;
+            String[] values = new String[STRING_COUNT];
+            for (int i = 0; i < STRING_COUNT; i++) {
+                int length = strings[i] & 0xFF;
+                if (length != NULL_LENGTH) {
+                    values[i] = new String(strings, position, length, StandardCharsets.UTF_8);
+                    position += length;
+                }
+            }
+            response.setSub(values[0]);
+            response.setUsername(values[1]);
+            response.setJti(values[2]);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Settings for {@link OffHeapIntrospectionStore}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OffHeapStoreProperties {
+
+    /** Off-heap memory reserved up front, in bytes; each entry takes 256 bytes. */
+    @Builder.Default
+    private long capacityBytes = 256L * 1024 * 1024;
+
+    /** Entries per set; a key can only live in the ways of its set. Rounded up to a power of two. */
+    @Builder.Default
+    private int ways = 8;
+
+    /**
+     * Distinct values each of the {@code iss}, {@code aud} and {@code scope} dictionaries can hold.
+     * Responses introducing a value beyond this are not cached. At most 65535.
+     */
+    @Builder.Default
+    private int dictionarySize = 4096;
+}
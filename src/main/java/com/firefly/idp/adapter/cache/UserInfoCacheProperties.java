@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link UserInfoCachingIdpAdapter}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserInfoCacheProperties {
+
+    /** How long a response is served without revalidation. */
+    @Builder.Default
+    private Duration ttl = Duration.ofMinutes(1);
+
+    /**
+     * How long after {@link #ttl} a stale response is still served immediately while it is
+     * revalidated in the background. Zero disables stale serving.
+     */
+    @Builder.Default
+    private Duration staleWhileRevalidate = Duration.ofMinutes(5);
+
+    /** Upper bound on the number of cached responses. */
+    @Builder.Default
+    private long maximumSize = 100_000;
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.support.SingleFlight;
+import com.firefly.idp.dtos.LogoutRequest;
+import com.firefly.idp.dtos.UpdateUserRequest;
+import com.firefly.idp.dtos.UpdateUserResponse;
+import com.firefly.idp.dtos.UserInfoResponse;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link IdpAdapter} decorator caching {@link #getUserInfo(String)} with stale-while-revalidate.
+ *
+ * Within the TTL a cached response is served as is. During the following grace window it is still
+ * served immediately, and one background fetch per token refreshes it; if that fetch fails the
+ * stale response keeps being served, while a non-2xx answer (e.g. 401 for a revoked token) drops it.
+ * Misses are coalesced so concurrent callers share one fetch.
+ * <p>
+ * Responses are keyed by a hash of the token and indexed by {@code sub}: {@code updateUser} and
+ * {@code deleteUser} evict every response of that user (the user id is taken to be the
+ * {@code sub}), and {@code logout} evicts the access token's response. Changes made elsewhere
+ * become visible after the TTL.
+ */
+public class UserInfoCachingIdpAdapter extends ForwardingIdpAdapter {
+
+    private final UserInfoCacheProperties properties;
+    private final Clock clock;
+    private final LocalCache<TokenKey, Cached> cache;
+    private final Map<String, Set<TokenKey>> bySub = new ConcurrentHashMap<>();
+    private final SingleFlight<TokenKey, ResponseEntity<UserInfoResponse>> fetches = new SingleFlight<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder revalidationFailures = new LongAdder();
+
+    public UserInfoCachingIdpAdapter(IdpAdapter delegate) {
+        this(delegate, UserInfoCacheProperties.builder().build());
+    }
+
+    public UserInfoCachingIdpAdapter(IdpAdapter delegate, UserInfoCacheProperties properties) {
+        this(delegate, properties, Clock.systemUTC());
+    }
+
+    public UserInfoCachingIdpAdapter(IdpAdapter delegate, UserInfoCacheProperties properties, Clock clock) {
+        super(delegate);
+        this.properties = Objects.requireNonNull(properties, "properties");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.cache = new LocalCache<>(properties.getMaximumSize(), clock, this::unindex);
+    }
+
+    @Override
+    public Mono<ResponseEntity<UserInfoResponse>> getUserInfo(String accessToken) {
+        if (accessToken == null) {
+            return super.getUserInfo(null);
+        }
+        return Mono.defer(() -> {
+            TokenKey key = TokenKey.of(accessToken);
+            Cached cached = cache.getIfPresent(key);
+            if (cached == null) {
+                return fetch(key, accessToken);
+            }
+            if (clock.millis() >= cached.freshUntilMillis) {
+                staleHits.increment();
+                fetch(key, accessToken).subscribe(fresh -> { }, error -> revalidationFailures.increment());
+            }
+            return Mono.just(ResponseEntity.ok(cached.response));
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<UpdateUserResponse>> updateUser(UpdateUserRequest request) {
+        return super.updateUser(request)
+                .doFirst(() -> invalidateSub(request.getUserId()))
+                .doFinally(signal -> invalidateSub(request.getUserId()));
+    }
+
+    @Override
+    public Mono<Void> deleteUser(String userId) {
+        return super.deleteUser(userId)
+                .doFirst(() -> invalidateSub(userId))
+                .doFinally(signal -> invalidateSub(userId));
+    }
+
+    @Override
+    public Mono<Void> logout(LogoutRequest request) {
+        return super.logout(request)
+                .doFirst(() -> invalidateToken(request.getAccessToken()))
+                .doFinally(signal -> invalidateToken(request.getAccessToken()));
+    }
+
+    /**
+     * @return the number of cached responses
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * @return the number of stale responses served while revalidating
+     */
+    public long getStaleHits() {
+        return staleHits.sum();
+    }
+
+    /**
+     * @return the number of background revalidations that failed and left the stale response in place
+     */
+    public long getRevalidationFailures() {
+        return revalidationFailures.sum();
+    }
+
+    private Mono<ResponseEntity<UserInfoResponse>> fetch(TokenKey key, String accessToken) {
+        return fetches.execute(key, () -> {
+            long generation = invalidations.get();
+            return super.getUserInfo(accessToken).doOnNext(response -> store(key, response, generation));
+        });
+    }
+
+    private void store(TokenKey key, ResponseEntity<UserInfoResponse> response, long generation) {
+        UserInfoResponse body = response.getBody();
+        if (!response.getStatusCode().is2xxSuccessful() || body == null) {
+            cache.invalidate(key);
+            return;
+        }
+        if (invalidations.get() != generation) {
+            return;
+        }
+        long now = clock.millis();
+        long freshUntil = now + properties.getTtl().toMillis();
+        if (body.getSub() != null) {
+            bySub.compute(body.getSub(), (sub, keys) -> {
+                Set<TokenKey> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                indexed.add(key);
+                return indexed;
+            });
+        }
+        cache.put(key, new Cached(body, freshUntil), freshUntil + properties.getStaleWhileRevalidate().toMillis());
+    }
+
+    private void invalidateSub(String sub) {
+        if (sub == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        Set<TokenKey> keys = bySub.remove(sub);
+        if (keys != null) {
+            keys.forEach(cache::invalidate);
+        }
+    }
+
+    private void invalidateToken(String accessToken) {
+        if (accessToken != null) {
+            invalidations.incrementAndGet();
+            cache.invalidate(TokenKey.of(accessToken));
+        }
+    }
+
+    private void unindex(TokenKey key, Cached cached) {
+        String sub = cached.response.getSub();
+        if (sub != null) {
+            bySub.computeIfPresent(sub, (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private static final class Cached {
+        final UserInfoResponse response;
+        final long freshUntilMillis;
+
+        Cached(UserInfoResponse response, long freshUntilMillis) {
+            this.response = response;
+            this.freshUntilMillis = freshUntilMillis;
+        }
+    }
+}
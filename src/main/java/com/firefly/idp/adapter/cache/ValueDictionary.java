@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Append-only dictionary mapping low-cardinality values to 16-bit codes. Code 0 stands for
+ * {@code null}; {@link #NONE} signals that the dictionary is full.
+ */
+final class ValueDictionary<T> {
+
+    static final int NONE = -1;
+
+    private final ConcurrentHashMap<T, Integer> codes = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<T> values;
+    private final AtomicInteger next = new AtomicInteger(1);
+
+    ValueDictionary(int size) {
+        this.values = new AtomicReferenceArray<>(Math.min(Math.max(size, 1), 0xFFFF) + 1);
+    }
+
+    int encode(T value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (next.get() >= values.length()) {
+            return NONE;
+        }
+        code = codes.computeIfAbsent(value, v -> {
+            int assigned = next.getAndIncrement();
+            if (assigned >= values.length()) {
+                return null;
+            }
+            values.set(assigned, v);
+            return assigned;
+        });
+        return code == null ? NONE : code;
+    }
+
+    T decode(int code) {
+        return code <= 0 || code >= values.length() ? null : values.get(code);
+    }
+}
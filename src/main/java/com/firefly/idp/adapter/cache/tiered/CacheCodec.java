@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache.tiered;
+
+/**
+ * Binary form of a cached response in the {@link SharedCache}.
+ */
+public interface CacheCodec<T> {
+
+    byte[] encode(T value);
+
+    /**
+     * @return the decoded value, or {@code null} if the bytes were written in an unknown format
+     * @throws IllegalArgumentException if the bytes are malformed
+     */
+    default T decode(byte[] bytes) {
+        return decode(bytes, 0);
+    }
+
+    /**
+     * Decode a value starting at {@code offset}, for values framed by the caller.
+     *
+     * @see #decode(byte[])
+     */
+    T decode(byte[] bytes, int offset);
+}
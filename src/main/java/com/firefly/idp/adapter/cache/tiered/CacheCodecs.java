@@ -0,0 +1,280 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache.tiered;
+
+import com.firefly.idp.dtos.IntrospectionResponse;
+import com.firefly.idp.dtos.UserInfoResponse;
+import com.firefly.idp.dtos.enums.UserRoleEnum;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact codecs for the responses kept in the {@link SharedCache}.
+ *
+ * Each value starts with a format version; presence of optional fields is packed into a flags
+ * byte, numbers are varints and strings are length-prefixed UTF-8, with length zero standing for
+ * {@code null}. A typical introspection result takes around a third of its JSON size. Values of an
+ * unknown version decode to {@code null}, so nodes running different releases treat each other's
+ * entries as misses.
+ */
+public final class CacheCodecs {
+
+    public static final CacheCodec<IntrospectionResponse> INTROSPECTION = new IntrospectionCodec();
+
+    public static final CacheCodec<UserInfoResponse> USER_INFO = new UserInfoCodec();
+
+    private static final UserRoleEnum[] ROLES = UserRoleEnum.values();
+
+    private CacheCodecs() {
+    }
+
+    private static final class IntrospectionCodec implements CacheCodec<IntrospectionResponse> {
+
+        private static final int VERSION = 1;
+        private static final int ACTIVE = 1;
+        private static final int EXP = 1 << 1;
+        private static final int IAT = 1 << 2;
+        private static final int AUD = 1 << 3;
+        private static final int PARTY_ID = 1 << 4;
+
+        @Override
+        public byte[] encode(IntrospectionResponse value) {
+            int flags = (value.isActive() ? ACTIVE : 0)
+                    | (value.getExp() != null ? EXP : 0)
+                    | (value.getIat() != null ? IAT : 0)
+                    | (value.getAud() != null ? AUD : 0)
+                    | (value.getPartyId() != null ? PARTY_ID : 0);
+            Writer out = new Writer(128);
+            out.writeByte(VERSION);
+            out.writeByte(flags);
+            out.writeString(value.getScope());
+            out.writeString(value.getUsername());
+            out.writeString(value.getSub());
+            out.writeString(value.getIss());
+            out.writeString(value.getJti());
+            if (value.getExp() != null) {
+                out.writeVarLong(value.getExp());
+            }
+            if (value.getIat() != null) {
+                out.writeVarLong(value.getIat());
+            }
+            if (value.getAud() != null) {
+                out.writeVarLong(value.getAud().size());
+                value.getAud().forEach(out::writeString);
+            }
+            if (value.getPartyId() != null) {
+                out.writeLong(value.getPartyId().getMostSignificantBits());
+                out.writeLong(value.getPartyId().getLeastSignificantBits());
+            }
+            out.writeVarLong(value.getUserRole() == null ? 0 : value.getUserRole().ordinal() + 1);
+            return out.toByteArray();
+        }
+
+        @Override
+        public IntrospectionResponse decode(byte[] bytes, int offset) {
+            Reader in = new Reader(bytes, offset);
+            if (in.readByte() != VERSION) {
+                return null;
+            }
+            int flags = in.readByte();
+            IntrospectionResponse value = IntrospectionResponse.builder()
+                    .active((flags & ACTIVE) != 0)
+                    .scope(in.readString())
+                    .username(in.readString())
+                    .sub(in.readString())
+                    .iss(in.readString())
+                    .jti(in.readString())
+                    .build();
+            if ((flags & EXP) != 0) {
+                value.setExp(in.readVarLong());
+            }
+            if ((flags & IAT) != 0) {
+                value.setIat(in.readVarLong());
+            }
+            if ((flags & AUD) != 0) {
+                int count = in.readLength();
+                List<String> aud = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    aud.add(in.readString());
+                }
+                value.setAud(aud);
+            }
+            if ((flags & PARTY_ID) != 0) {
+                value.setPartyId(new UUID(in.readLong(), in.readLong()));
+            }
+            int role = (int) in.readVarLong();
+            value.setUserRole(role > 0 && role <= ROLES.length ? ROLES[role - 1] : null);
+            return value;
+        }
+    }
+
+    private static final class UserInfoCodec implements CacheCodec<UserInfoResponse> {
+
+        private static final int VERSION = 1;
+
+        @Override
+        public byte[] encode(UserInfoResponse value) {
+            Writer out = new Writer(96);
+            out.writeByte(VERSION);
+            out.writeByte(value.getEmailVerified() == null ? 0 : value.getEmailVerified() ? 2 : 1);
+            out.writeString(value.getSub());
+            out.writeString(value.getEmail());
+            out.writeString(value.getName());
+            out.writeString(value.getPreferredUsername());
+            out.writeString(value.getGivenName());
+            out.writeString(value.getFamilyName());
+            return out.toByteArray();
+        }
+
+        @Override
+        public UserInfoResponse decode(byte[] bytes, int offset) {
+            Reader in = new Reader(bytes, offset);
+            if (in.readByte() != VERSION) {
+                return null;
+            }
+            int verified = in.readByte();
+            return UserInfoResponse.builder()
+                    .emailVerified(verified == 0 ? null : verified == 2)
+                    .sub(in.readString())
+                    .email(in.readString())
+                    .name(in.readString())
+                    .preferredUsername(in.readString())
+                    .givenName(in.readString())
+                    .familyName(in.readString())
+                    .build();
+        }
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarLong(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            ensure(10);
+            while ((zigzag & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            buffer[position++] = (byte) zigzag;
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length + 1L);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, buffer, position, utf8.length);
+            position += utf8.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensure(int bytes) {
+            if (position + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer, int offset) {
+            this.buffer = buffer;
+            this.position = offset;
+        }
+
+        int readByte() {
+            require(1);
+            return buffer[position++] & 0xFF;
+        }
+
+        long readLong() {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                zigzag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        int readLength() {
+            long length = readVarLong();
+            if (length < 0 || length > buffer.length - position + 1L) {
+                throw new IllegalArgumentException("Malformed length " + length);
+            }
+            return (int) length;
+        }
+
+        String readString() {
+            int length = readLength();
+            if (length == 0) {
+                return null;
+            }
+            require(length - 1);
+            String value = new String(buffer, position, length - 1, StandardCharsets.UTF_8);
+            position += length - 1;
+            return value;
+        }
+
+        private void require(int bytes) {
+            if (position + bytes > buffer.length) {
+                throw new IllegalArgumentException("Truncated value");
+            }
+        }
+    }
+}
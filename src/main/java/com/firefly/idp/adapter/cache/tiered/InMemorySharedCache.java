@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache.tiered;
+
+import com.firefly.idp.adapter.cache.TokenKey;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link SharedCache} held in this process, for tests and single-node setups. Several adapters
+ * sharing one instance behave like nodes sharing a remote store. Expired entries are dropped when
+ * read.
+ */
+public class InMemorySharedCache implements SharedCache {
+
+    private final Map<Entry, Stored> entries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final LongAdder batches = new LongAdder();
+
+    public InMemorySharedCache() {
+        this(Clock.systemUTC());
+    }
+
+    public InMemorySharedCache(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<Map<TokenKey, byte[]>> getAll(String namespace, Collection<TokenKey> keys) {
+        return Mono.fromSupplier(() -> {
+            batches.increment();
+            long now = clock.millis();
+            Map<TokenKey, byte[]> found = new HashMap<>();
+            for (TokenKey key : keys) {
+                Entry entry = new Entry(namespace, key);
+                Stored stored = entries.get(entry);
+                if (stored == null) {
+                    continue;
+                }
+                if (stored.expiresAtMillis() <= now) {
+                    entries.remove(entry, stored);
+                } else {
+                    found.put(key, stored.value());
+                }
+            }
+            return found;
+        });
+    }
+
+    @Override
+    public Mono<Void> put(String namespace, TokenKey key, byte[] value, long expiresAtMillis) {
+        return Mono.fromRunnable(() -> entries.put(new Entry(namespace, key), new Stored(value, expiresAtMillis)));
+    }
+
+    @Override
+    public Mono<Void> invalidate(String namespace, TokenKey key) {
+        return Mono.fromRunnable(() -> entries.remove(new Entry(namespace, key)));
+    }
+
+    @Override
+    public Mono<Long> counter(String name) {
+        return Mono.fromSupplier(() -> {
+            AtomicLong counter = counters.get(name);
+            return counter == null ? 0L : counter.get();
+        });
+    }
+
+    @Override
+    public Mono<Long> increment(String name) {
+        return Mono.fromSupplier(() -> counters.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet());
+    }
+
+    /**
+     * @return the number of stored values, including expired ones not read since
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of {@link #getAll} round trips served
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    private record Entry(String namespace, TokenKey key) {
+    }
+
+    private record Stored(byte[] value, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache.tiered;
+
+import com.firefly.idp.adapter.cache.TokenKey;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Shared second-tier store of {@link TieredCachingIdpAdapter}, e.g. Redis or Memcached, reached by
+ * every node of a deployment.
+ *
+ * Values are opaque encoded responses grouped in namespaces. Implementations should answer
+ * {@link #getAll} with a single round trip (MGET or a pipeline) and may drop entries at any time.
+ * Named counters, such as the generation bumped by session revocations, must be kept as long as
+ * any value; if they are lost, they must be lost together with the values.
+ */
+public interface SharedCache {
+
+    /**
+     * @return the unexpired values stored for the keys; absent keys are simply missing from the map
+     */
+    Mono<Map<TokenKey, byte[]>> getAll(String namespace, Collection<TokenKey> keys);
+
+    /**
+     * Store a value until the given epoch millis.
+     */
+    Mono<Void> put(String namespace, TokenKey key, byte[] value, long expiresAtMillis);
+
+    Mono<Void> invalidate(String namespace, TokenKey key);
+
+    /**
+     * @return the value of a counter shared by all nodes, {@code 0} if it was never incremented
+     */
+    Mono<Long> counter(String name);
+
+    /**
+     * Atomically increment a shared counter (INCR or equivalent).
+     *
+     * @return the incremented value
+     */
+    Mono<Long> increment(String name);
+}
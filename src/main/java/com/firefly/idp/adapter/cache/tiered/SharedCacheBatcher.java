@@ -0,0 +1,169 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache.tiered;
+
+import com.firefly.idp.adapter.cache.TokenKey;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Turns single-key reads of one {@link SharedCache} namespace into batched {@link SharedCache#getAll}
+ * round trips.
+ *
+ * Reads queue up until a drain runs, after {@code batchDelay}, and are sent in batches of at most
+ * {@code maxBatchSize} distinct keys. Up to {@code maxInFlight} batches are pipelined; reads
+ * arriving while they are outstanding form the next batch, which is sent as soon as one returns.
+ * A batch that takes longer than {@code timeout} fails its reads, so a hung store never holds an
+ * in-flight slot for good. Reads cancelled while queued are dropped when drained.
+ */
+final class SharedCacheBatcher {
+
+    private final SharedCache cache;
+    private final String namespace;
+    private final int maxBatchSize;
+    private final int maxInFlight;
+    private final long batchDelayNanos;
+    private final Duration timeout;
+    private final Scheduler scheduler;
+    private final ConcurrentLinkedQueue<Read> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final LongAdder batches = new LongAdder();
+
+    SharedCacheBatcher(SharedCache cache, String namespace, int maxBatchSize, int maxInFlight,
+                       Duration batchDelay, Duration timeout, Scheduler scheduler) {
+        if (maxBatchSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("maxBatchSize and maxInFlight must be positive");
+        }
+        this.cache = cache;
+        this.namespace = namespace;
+        this.maxBatchSize = maxBatchSize;
+        this.maxInFlight = maxInFlight;
+        this.batchDelayNanos = batchDelay.toNanos();
+        this.timeout = timeout;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @return the stored value, or empty if absent
+     */
+    Mono<byte[]> get(TokenKey key) {
+        return Mono.create(sink -> {
+            Read read = new Read(key, sink);
+            sink.onCancel(() -> read.cancelled = true);
+            queue.add(read);
+            schedule();
+        });
+    }
+
+    /**
+     * @return the number of batches sent
+     */
+    long getBatches() {
+        return batches.sum();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            if (batchDelayNanos > 0) {
+                scheduler.schedule(this::drain, batchDelayNanos, TimeUnit.NANOSECONDS);
+            } else {
+                scheduler.schedule(this::drain);
+            }
+        }
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        drainLoop();
+    }
+
+    /**
+     * Sends batches while reads are queued and the in-flight limit allows. Only one thread runs
+     * the loop; callers arriving meanwhile, such as a batch returning, make it check again.
+     */
+    private void drainLoop() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (inFlight.get() < maxInFlight && !queue.isEmpty()) {
+                Map<TokenKey, List<MonoSink<byte[]>>> batch = new HashMap<>();
+                Read read;
+                while (batch.size() < maxBatchSize && (read = queue.poll()) != null) {
+                    if (!read.cancelled) {
+                        batch.computeIfAbsent(read.key, key -> new ArrayList<>(1)).add(read.sink);
+                    }
+                }
+                if (batch.isEmpty()) {
+                    break;
+                }
+                inFlight.incrementAndGet();
+                send(batch);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void send(Map<TokenKey, List<MonoSink<byte[]>>> batch) {
+        batches.increment();
+        Mono.defer(() -> cache.getAll(namespace, List.copyOf(batch.keySet())))
+                .timeout(timeout, scheduler)
+                .defaultIfEmpty(Map.of())
+                .subscribe(found -> {
+                    batch.forEach((key, sinks) -> {
+                        byte[] value = found.get(key);
+                        sinks.forEach(sink -> sink.success(value));
+                    });
+                    returned();
+                }, error -> {
+                    batch.values().forEach(sinks -> sinks.forEach(sink -> sink.error(error)));
+                    returned();
+                });
+    }
+
+    private void returned() {
+        inFlight.decrementAndGet();
+        drainLoop();
+    }
+
+    private static final class Read {
+        final TokenKey key;
+        final MonoSink<byte[]> sink;
+        volatile boolean cancelled;
+
+        Read(TokenKey key, MonoSink<byte[]> sink) {
+            this.key = key;
+            this.sink = sink;
+        }
+    }
+}
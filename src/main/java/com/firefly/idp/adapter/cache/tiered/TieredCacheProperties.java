@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache.tiered;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link TieredCachingIdpAdapter}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TieredCacheProperties {
+
+    /** Upper bound on the number of responses of each kind held in the local tier. */
+    @Builder.Default
+    private long localMaximumSize = 10_000;
+
+    /**
+     * Maximum time a response is served from the local tier, and how long a node trusts the shared
+     * generation it last read. Bounds how long a revocation made on another node can go unnoticed
+     * when no channel delivers it.
+     */
+    @Builder.Default
+    private Duration localTtl = Duration.ofSeconds(5);
+
+    /** Maximum time an active introspection result is shared; never beyond the token's {@code exp}. */
+    @Builder.Default
+    private Duration introspectionTtl = Duration.ofMinutes(5);
+
+    /** Time an inactive introspection result is shared. Zero disables. */
+    @Builder.Default
+    private Duration inactiveTtl = Duration.ofSeconds(10);
+
+    /** Time a user info response is shared. */
+    @Builder.Default
+    private Duration userInfoTtl = Duration.ofMinutes(1);
+
+    /** Maximum number of keys read from the shared tier in one round trip. */
+    @Builder.Default
+    private int maxBatchSize = 64;
+
+    /** Maximum number of shared-tier reads outstanding at once, per response kind. */
+    @Builder.Default
+    private int maxInFlightBatches = 8;
+
+    /** How long reads wait for others to join their batch. Zero sends as soon as a drain runs. */
+    @Builder.Default
+    private Duration batchDelay = Duration.ZERO;
+
+    /** How long a shared-tier read may take before the IdP is asked instead. */
+    @Builder.Default
+    private Duration sharedTimeout = Duration.ofMillis(50);
+
+    /** How long other nodes remember a revoked token whose expiry cannot be read (opaque tokens). */
+    @Builder.Default
+    private Duration opaqueTokenTtl = Duration.ofHours(1);
+
+    /** How long other nodes remember a revoked session; should cover the longest access token lifetime. */
+    @Builder.Default
+    private Duration sessionTtl = Duration.ofHours(1);
+
+    /**
+     * Whether revoking a session or refresh token clears the local tier of every node and bumps the
+     * shared generation, so values shared before the revocation stop being served once each node
+     * reads the new generation.
+     */
+    @Builder.Default
+    private boolean invalidateAllOnSessionRevocation = true;
+}
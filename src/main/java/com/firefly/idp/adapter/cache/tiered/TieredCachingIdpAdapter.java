@@ -0,0 +1,468 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.cache.tiered;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.cache.LocalCache;
+import com.firefly.idp.adapter.cache.TokenKey;
+import com.firefly.idp.adapter.jwt.JwtClaimScanner;
+import com.firefly.idp.adapter.revocation.RevocationChannel;
+import com.firefly.idp.adapter.revocation.RevocationEvent;
+import com.firefly.idp.adapter.revocation.TokenFingerprint;
+import com.firefly.idp.adapter.support.SingleFlight;
+import com.firefly.idp.dtos.IntrospectionResponse;
+import com.firefly.idp.dtos.LogoutRequest;
+import com.firefly.idp.dtos.UserInfoResponse;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * {@link IdpAdapter} decorator caching {@link #introspect(String)} and {@link #getUserInfo(String)}
+ * in two tiers: a small local {@link LocalCache} in front of a {@link SharedCache} used by all nodes,
+ * so a token is sent to the IdP once per deployment rather than once per node.
+ *
+ * A local miss reads the shared tier through a batcher that groups concurrent reads into pipelined
+ * {@link SharedCache#getAll} round trips; a shared miss, error or timeout asks the IdP and stores the
+ * answer in both tiers. Concurrent misses for one token share a single lookup. Shared values use
+ * {@link CacheCodecs}. Local entries live at most {@code localTtl}.
+ * <p>
+ * Logging out evicts the tokens from both tiers and, with a {@link RevocationChannel}, publishes
+ * their revocation so other nodes evict their local copies; revocations received on the channel,
+ * from this adapter or a {@code RevocationIndex}, are applied the same way. Published events expire
+ * with the token, and a failed publish is counted without failing the logout.
+ * <p>
+ * The shared tier cannot be searched by session, so revoking a session or refresh token bumps a
+ * generation counter kept in it. Shared values are stamped with the generation they were stored
+ * under and those older than the generation a node knows are misses. A node re-reads the counter
+ * once it is {@code localTtl} old, or after a session revocation arrives on the channel; while it
+ * cannot be read, the shared tier is skipped. Call {@link #close()} to stop listening.
+ */
+public class TieredCachingIdpAdapter extends ForwardingIdpAdapter implements AutoCloseable {
+
+    static final String INTROSPECTION = "introspection";
+    static final String USER_INFO = "userinfo";
+    static final String GENERATION = "generation";
+
+    private static final Generation UNAVAILABLE = new Generation(-1, 0);
+
+    private static final JwtClaimScanner EXP = new JwtClaimScanner(List.of("exp"));
+
+    private final TieredCacheProperties properties;
+    private final Clock clock;
+    private final SharedCache shared;
+    private final RevocationChannel channel;
+    private final LocalCache<TokenKey, IntrospectionResponse> introspections;
+    private final LocalCache<TokenKey, UserInfoResponse> userInfos;
+    private final SharedCacheBatcher introspectionReads;
+    private final SharedCacheBatcher userInfoReads;
+    private final SingleFlight<TokenKey, ResponseEntity<IntrospectionResponse>> introspectionLookups =
+            new SingleFlight<>();
+    private final SingleFlight<TokenKey, ResponseEntity<UserInfoResponse>> userInfoLookups = new SingleFlight<>();
+    private final SingleFlight<String, Generation> generationReads = new SingleFlight<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder sharedErrors = new LongAdder();
+    private final LongAdder publishErrors = new LongAdder();
+    private final Disposable subscription;
+    private volatile Generation knownGeneration;
+
+    public TieredCachingIdpAdapter(IdpAdapter delegate, SharedCache shared) {
+        this(delegate, shared, TieredCacheProperties.builder().build(), null);
+    }
+
+    public TieredCachingIdpAdapter(IdpAdapter delegate, SharedCache shared, TieredCacheProperties properties,
+                                   RevocationChannel channel) {
+        this(delegate, shared, properties, channel, Clock.systemUTC());
+    }
+
+    /**
+     * @param channel propagation of evictions to other nodes; {@code null} keeps them local
+     */
+    public TieredCachingIdpAdapter(IdpAdapter delegate, SharedCache shared, TieredCacheProperties properties,
+                                   RevocationChannel channel, Clock clock) {
+        super(delegate);
+        this.properties = Objects.requireNonNull(properties, "properties");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.shared = Objects.requireNonNull(shared, "shared");
+        this.channel = channel;
+        this.introspections = new LocalCache<>(properties.getLocalMaximumSize(), clock);
+        this.userInfos = new LocalCache<>(properties.getLocalMaximumSize(), clock);
+        this.introspectionReads = batcher(INTROSPECTION);
+        this.userInfoReads = batcher(USER_INFO);
+        this.subscription = channel == null ? null : channel.events().subscribe(this::apply);
+    }
+
+    @Override
+    public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+        if (accessToken == null) {
+            return super.introspect(null);
+        }
+        return Mono.defer(() -> {
+            TokenKey key = TokenKey.of(accessToken);
+            IntrospectionResponse cached = introspections.getIfPresent(key);
+            if (cached != null) {
+                localHits.increment();
+                return Mono.just(ResponseEntity.ok(cached));
+            }
+            return introspectionLookups.execute(key, () -> {
+                long invalidation = invalidations.get();
+                return sharedGeneration().flatMap(generation ->
+                        readShared(introspectionReads, CacheCodecs.INTROSPECTION, key, generation)
+                                .doOnNext(response -> introspections.put(key, response,
+                                        localExpiry(response.getExp())))
+                                .map(ResponseEntity::ok)
+                                .switchIfEmpty(Mono.defer(() -> super.introspect(accessToken)
+                                        .doOnNext(response ->
+                                                storeIntrospection(key, response, invalidation, generation)))));
+            });
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<UserInfoResponse>> getUserInfo(String accessToken) {
+        if (accessToken == null) {
+            return super.getUserInfo(null);
+        }
+        return Mono.defer(() -> {
+            TokenKey key = TokenKey.of(accessToken);
+            UserInfoResponse cached = userInfos.getIfPresent(key);
+            if (cached != null) {
+                localHits.increment();
+                return Mono.just(ResponseEntity.ok(cached));
+            }
+            return userInfoLookups.execute(key, () -> {
+                long invalidation = invalidations.get();
+                return sharedGeneration().flatMap(generation ->
+                        readShared(userInfoReads, CacheCodecs.USER_INFO, key, generation)
+                                .doOnNext(response -> userInfos.put(key, response, localExpiry(null)))
+                                .map(ResponseEntity::ok)
+                                .switchIfEmpty(Mono.defer(() -> super.getUserInfo(accessToken)
+                                        .doOnNext(response ->
+                                                storeUserInfo(key, response, invalidation, generation)))));
+            });
+        });
+    }
+
+    @Override
+    public Mono<Void> logout(LogoutRequest request) {
+        return evictAround(super.logout(request), publish -> Mono.when(
+                evictToken(request.getAccessToken(), publish),
+                evictToken(request.getRefreshToken(), publish)));
+    }
+
+    @Override
+    public Mono<Void> revokeRefreshToken(String refreshToken) {
+        return evictAround(super.revokeRefreshToken(refreshToken),
+                publish -> invalidateOnSessionRevocation().then(evictToken(refreshToken, publish)));
+    }
+
+    @Override
+    public Mono<Void> revokeSession(String sessionId) {
+        return evictAround(super.revokeSession(sessionId), publish -> {
+            Mono<Void> invalidation = invalidateOnSessionRevocation();
+            if (!publish || sessionId == null || channel == null) {
+                return invalidation;
+            }
+            return invalidation.then(publish(RevocationEvent.builder()
+                    .type(RevocationEvent.Type.SESSION)
+                    .sessionId(sessionId)
+                    .expiresAtMillis(clock.millis() + properties.getSessionTtl().toMillis())
+                    .build()));
+        });
+    }
+
+    /**
+     * Apply a revocation received from another node to the local tier.
+     */
+    public void apply(RevocationEvent event) {
+        if (event.getType() == RevocationEvent.Type.SESSION) {
+            if (properties.isInvalidateAllOnSessionRevocation()) {
+                clearLocal();
+                forgetGeneration();
+            }
+        } else if (event.getKey() != null) {
+            evictLocal(event.getKey());
+        }
+    }
+
+    /**
+     * @return the number of responses held in the local tier
+     */
+    public long size() {
+        return introspections.size() + userInfos.size();
+    }
+
+    /**
+     * @return the number of lookups answered by the local tier
+     */
+    public long getLocalHits() {
+        return localHits.sum();
+    }
+
+    /**
+     * @return the number of lookups answered by the shared tier
+     */
+    public long getSharedHits() {
+        return sharedHits.sum();
+    }
+
+    /**
+     * @return the number of shared-tier reads and writes that failed or timed out
+     */
+    public long getSharedErrors() {
+        return sharedErrors.sum();
+    }
+
+    /**
+     * @return the number of revocations that could not be published on the channel
+     */
+    public long getPublishErrors() {
+        return publishErrors.sum();
+    }
+
+    /**
+     * @return the number of batched shared-tier reads sent
+     */
+    public long getSharedBatches() {
+        return introspectionReads.getBatches() + userInfoReads.getBatches();
+    }
+
+    @Override
+    public void close() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private SharedCacheBatcher batcher(String namespace) {
+        return new SharedCacheBatcher(shared, namespace, properties.getMaxBatchSize(),
+                properties.getMaxInFlightBatches(), properties.getBatchDelay(), properties.getSharedTimeout(),
+                Schedulers.parallel());
+    }
+
+    private <T> Mono<T> readShared(SharedCacheBatcher reads, CacheCodec<T> codec, TokenKey key,
+                                   Generation generation) {
+        if (generation == UNAVAILABLE) {
+            return Mono.empty();
+        }
+        return reads.get(key)
+                .timeout(properties.getSharedTimeout())
+                .<T>handle((bytes, sink) -> {
+                    T value = bytes.length >= Long.BYTES && readStamp(bytes) >= generation.value()
+                            ? codec.decode(bytes, Long.BYTES)
+                            : null;
+                    if (value != null) {
+                        sharedHits.increment();
+                        sink.next(value);
+                    }
+                })
+                .onErrorResume(error -> {
+                    sharedErrors.increment();
+                    return Mono.empty();
+                });
+    }
+
+    private void storeIntrospection(TokenKey key, ResponseEntity<IntrospectionResponse> response, long invalidation,
+                                    Generation generation) {
+        IntrospectionResponse body = response.getBody();
+        if (body == null || !response.getStatusCode().is2xxSuccessful()) {
+            return;
+        }
+        long now = clock.millis();
+        long expiresAt = now + (body.isActive() ? properties.getIntrospectionTtl() : properties.getInactiveTtl())
+                .toMillis();
+        if (body.getExp() != null) {
+            expiresAt = Math.min(expiresAt, body.getExp() * 1000L);
+        }
+        if (expiresAt > now && invalidations.get() == invalidation) {
+            introspections.put(key, body, Math.min(expiresAt, localExpiry(null)));
+            writeShared(INTROSPECTION, key, CacheCodecs.INTROSPECTION.encode(body), expiresAt, generation);
+        }
+    }
+
+    private void storeUserInfo(TokenKey key, ResponseEntity<UserInfoResponse> response, long invalidation,
+                               Generation generation) {
+        UserInfoResponse body = response.getBody();
+        if (body == null || !response.getStatusCode().is2xxSuccessful() || invalidations.get() != invalidation) {
+            return;
+        }
+        long expiresAt = clock.millis() + properties.getUserInfoTtl().toMillis();
+        userInfos.put(key, body, Math.min(expiresAt, localExpiry(null)));
+        writeShared(USER_INFO, key, CacheCodecs.USER_INFO.encode(body), expiresAt, generation);
+    }
+
+    private void writeShared(String namespace, TokenKey key, byte[] encoded, long expiresAtMillis,
+                             Generation generation) {
+        if (generation == UNAVAILABLE) {
+            return;
+        }
+        byte[] value = new byte[Long.BYTES + encoded.length];
+        for (int i = 0; i < Long.BYTES; i++) {
+            value[i] = (byte) (generation.value() >>> (56 - 8 * i));
+        }
+        System.arraycopy(encoded, 0, value, Long.BYTES, encoded.length);
+        Mono.defer(() -> shared.put(namespace, key, value, expiresAtMillis))
+                .timeout(properties.getSharedTimeout())
+                .subscribe(done -> { }, error -> sharedErrors.increment());
+    }
+
+    private long localExpiry(Long exp) {
+        long expiresAt = clock.millis() + properties.getLocalTtl().toMillis();
+        return exp == null ? expiresAt : Math.min(expiresAt, exp * 1000L);
+    }
+
+    /**
+     * Evict before the call, publishing to other nodes, and again after it so that lookups racing
+     * with the call cannot leave a stale entry behind.
+     */
+    private Mono<Void> evictAround(Mono<Void> call, Function<Boolean, Mono<Void>> eviction) {
+        return Mono.defer(() -> eviction.apply(true))
+                .then(call)
+                .doFinally(signal -> eviction.apply(false).subscribe(done -> { }, error -> { }));
+    }
+
+    private Mono<Void> evictToken(String token, boolean publish) {
+        if (token == null) {
+            return Mono.empty();
+        }
+        TokenKey key = TokenKey.of(token);
+        evictLocal(key);
+        Mono<Void> evictShared = Mono.when(shared.invalidate(INTROSPECTION, key), shared.invalidate(USER_INFO, key))
+                .timeout(properties.getSharedTimeout())
+                .onErrorResume(error -> {
+                    sharedErrors.increment();
+                    return Mono.empty();
+                });
+        if (!publish || channel == null) {
+            return evictShared;
+        }
+        return evictShared.then(Mono.defer(() -> publish(RevocationEvent.builder()
+                .type(RevocationEvent.Type.TOKEN)
+                .key(key)
+                .fingerprint(TokenFingerprint.of(token))
+                .expiresAtMillis(expiryOf(token))
+                .build())));
+    }
+
+    /**
+     * Publish on the channel; a failure is counted rather than failing the revocation, which has
+     * already been applied locally.
+     */
+    private Mono<Void> publish(RevocationEvent event) {
+        return Mono.defer(() -> channel.publish(event))
+                .onErrorResume(error -> {
+                    publishErrors.increment();
+                    return Mono.empty();
+                });
+    }
+
+    private long expiryOf(String token) {
+        long location = EXP.find(token);
+        Long exp = location < 0 ? null : JwtClaimScanner.longValue(EXP.buffer(), location);
+        return exp != null ? exp * 1000 : clock.millis() + properties.getOpaqueTokenTtl().toMillis();
+    }
+
+    private void evictLocal(TokenKey key) {
+        invalidations.incrementAndGet();
+        introspections.invalidate(key);
+        userInfos.invalidate(key);
+    }
+
+    private Mono<Void> invalidateOnSessionRevocation() {
+        if (!properties.isInvalidateAllOnSessionRevocation()) {
+            return Mono.empty();
+        }
+        clearLocal();
+        return Mono.defer(() -> shared.increment(GENERATION))
+                .timeout(properties.getSharedTimeout())
+                .doOnNext(this::learnGeneration)
+                .onErrorResume(error -> {
+                    sharedErrors.increment();
+                    forgetGeneration();
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void clearLocal() {
+        invalidations.incrementAndGet();
+        introspections.invalidateAll();
+        userInfos.invalidateAll();
+    }
+
+    /**
+     * @return the shared generation, read again once it is {@code localTtl} old, or
+     * {@link #UNAVAILABLE} if the shared tier cannot tell
+     */
+    private Mono<Generation> sharedGeneration() {
+        return Mono.defer(() -> {
+            Generation known = knownGeneration;
+            if (known != null && clock.millis() - known.readAtMillis() < properties.getLocalTtl().toMillis()) {
+                return Mono.just(known);
+            }
+            return generationReads.execute(GENERATION, () -> shared.counter(GENERATION)
+                    .timeout(properties.getSharedTimeout())
+                    .defaultIfEmpty(0L)
+                    .map(value -> {
+                        // a revocation meanwhile makes this value stale, or has learned a newer one
+                        Generation current = knownGeneration;
+                        return current == known ? learnGeneration(value) : current;
+                    })
+                    .onErrorResume(error -> {
+                        sharedErrors.increment();
+                        return Mono.just(UNAVAILABLE);
+                    }));
+        });
+    }
+
+    /**
+     * Make the next lookup read the generation again; until then the last known one still applies.
+     */
+    private void forgetGeneration() {
+        Generation known = knownGeneration;
+        knownGeneration = known == null ? UNAVAILABLE : new Generation(known.value(), 0);
+    }
+
+    private Generation learnGeneration(long value) {
+        Generation learned = new Generation(value, clock.millis());
+        knownGeneration = learned;
+        return learned;
+    }
+
+    private static long readStamp(byte[] value) {
+        long stamp = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            stamp = (stamp << 8) | (value[i] & 0xFF);
+        }
+        return stamp;
+    }
+
+    private record Generation(long value, long readAtMillis) {
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.coalescing;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.support.SingleFlight;
+import com.firefly.idp.dtos.IntrospectionResponse;
+import com.firefly.idp.dtos.UserInfoResponse;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link IdpAdapter} decorator that coalesces concurrent {@code introspect} and {@code getUserInfo}
+ * calls carrying the same token.
+ *
+ * Callers asking for the same token while a call is in flight share that call's result, so a
+ * page fan-out with many requests on one bearer token reaches the IdP once. Nothing is cached
+ * beyond the lifetime of the call; combine with a caching decorator for that.
+ */
+public class CoalescingIdpAdapter extends ForwardingIdpAdapter {
+
+    private final SingleFlight<String, ResponseEntity<IntrospectionResponse>> introspections = new SingleFlight<>();
+    private final SingleFlight<String, ResponseEntity<UserInfoResponse>> userInfoLookups = new SingleFlight<>();
+
+    public CoalescingIdpAdapter(IdpAdapter delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+        if (accessToken == null) {
+            return super.introspect(null);
+        }
+        return introspections.execute(accessToken, () -> super.introspect(accessToken));
+    }
+
+    @Override
+    public Mono<ResponseEntity<UserInfoResponse>> getUserInfo(String accessToken) {
+        if (accessToken == null) {
+            return super.getUserInfo(null);
+        }
+        return userInfoLookups.execute(accessToken, () -> super.getUserInfo(accessToken));
+    }
+
+    /**
+     * @return the number of {@code introspect} calls answered by an in-flight call
+     */
+    public long getCoalescedIntrospections() {
+        return introspections.getCoalesced();
+    }
+
+    /**
+     * @return the total number of {@code introspect} calls received
+     */
+    public long getIntrospectionCalls() {
+        return introspections.getCalls();
+    }
+
+    /**
+     * @return the number of {@code getUserInfo} calls answered by an in-flight call
+     */
+    public long getCoalescedUserInfoLookups() {
+        return userInfoLookups.getCoalesced();
+    }
+
+    /**
+     * @return the total number of {@code getUserInfo} calls received
+     */
+    public long getUserInfoCalls() {
+        return userInfoLookups.getCalls();
+    }
+}
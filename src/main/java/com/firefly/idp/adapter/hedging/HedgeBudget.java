@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retry-budget style cap on hedges: every call deposits a fraction of a hedge, every hedge
+ * withdraws a whole one, and the balance is capped at the burst size.
+ */
+final class HedgeBudget {
+
+    private static final long UNIT = 1_000_000L;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance = new AtomicLong();
+
+    HedgeBudget(double percent, int burst) {
+        this.deposit = Math.max(0, Math.round(percent / 100 * UNIT));
+        this.capacity = Math.max(1, burst) * UNIT;
+    }
+
+    void deposit() {
+        if (deposit == 0) {
+            return;
+        }
+        long current = balance.get();
+        while (current < capacity && !balance.compareAndSet(current, Math.min(capacity, current + deposit))) {
+            current = balance.get();
+        }
+    }
+
+    boolean tryWithdraw() {
+        long current = balance.get();
+        while (current >= UNIT) {
+            if (balance.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+            current = balance.get();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.hedging;
+
+import com.firefly.idp.adapter.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hedge delay of one operation, derived from the latency percentile of the last complete window.
+ *
+ * Latencies are recorded into the current window's histogram. The first call after the window
+ * elapses swaps in a fresh histogram and, if the finished one has enough samples, recomputes the
+ * delay from it, so the percentile scan runs once per window rather than per call.
+ */
+final class HedgeDelay {
+
+    private final double percentile;
+    private final long windowNanos;
+    private final long minSamples;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final AtomicLong windowStart;
+    private volatile LatencyHistogram current = new LatencyHistogram();
+    private volatile long delayNanos;
+
+    HedgeDelay(HedgingProperties properties) {
+        this.percentile = properties.getPercentile();
+        this.windowNanos = properties.getWindow().toNanos();
+        this.minSamples = Math.max(1, properties.getMinSamples());
+        this.minDelayNanos = properties.getMinDelay().toNanos();
+        this.maxDelayNanos = Math.max(minDelayNanos, properties.getMaxDelay().toNanos());
+        this.delayNanos = clamp(properties.getInitialDelay().toNanos());
+        this.windowStart = new AtomicLong(System.nanoTime());
+    }
+
+    void record(long latencyNanos) {
+        current.record(latencyNanos);
+    }
+
+    long delayNanos() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            LatencyHistogram finished = current;
+            current = new LatencyHistogram();
+            if (finished.count() >= minSamples) {
+                delayNanos = clamp(finished.valueAtPercentile(percentile));
+            }
+        }
+        return delayNanos;
+    }
+
+    private long clamp(long nanos) {
+        return Math.min(maxDelayNanos, Math.max(minDelayNanos, nanos));
+    }
+}
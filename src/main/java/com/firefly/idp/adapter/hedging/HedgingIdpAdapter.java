@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.hedging;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.IdpOperation;
+import com.firefly.idp.dtos.IntrospectionResponse;
+import com.firefly.idp.dtos.UserInfoResponse;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link IdpAdapter} decorator that hedges idempotent reads against slow IdP nodes.
+ *
+ * If {@code introspect}, {@code getUserInfo} or {@code getRoles} has not answered within a recent
+ * latency percentile, the same call is sent again; whichever answers first wins and the other is
+ * cancelled. Once a hedge is sent, a failure of either attempt waits for the other one, and the call
+ * only fails when both do; before that, a failing primary fails the call. A budget caps hedges at a
+ * percentage of traffic so a fully degraded IdP sees at most that much extra load. The delay is
+ * learnt from the latencies this decorator observes, so place it directly around the provider
+ * adapter, inside caches.
+ */
+public class HedgingIdpAdapter extends ForwardingIdpAdapter {
+
+    private static final List<IdpOperation> HEDGEABLE = List.of(
+            IdpOperation.INTROSPECT, IdpOperation.GET_USER_INFO, IdpOperation.GET_ROLES);
+
+    private final Map<IdpOperation, HedgeDelay> delays = new EnumMap<>(IdpOperation.class);
+    private final HedgeBudget budget;
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    public HedgingIdpAdapter(IdpAdapter delegate) {
+        this(delegate, HedgingProperties.builder().build());
+    }
+
+    public HedgingIdpAdapter(IdpAdapter delegate, HedgingProperties properties) {
+        super(delegate);
+        for (IdpOperation operation : HEDGEABLE) {
+            if (properties.getOperations().contains(operation)) {
+                delays.put(operation, new HedgeDelay(properties));
+            }
+        }
+        this.budget = new HedgeBudget(properties.getBudgetPercent(), properties.getBudgetBurst());
+    }
+
+    @Override
+    public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+        return hedged(IdpOperation.INTROSPECT, () -> super.introspect(accessToken));
+    }
+
+    @Override
+    public Mono<ResponseEntity<UserInfoResponse>> getUserInfo(String accessToken) {
+        return hedged(IdpOperation.GET_USER_INFO, () -> super.getUserInfo(accessToken));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<String>>> getRoles(String userId) {
+        return hedged(IdpOperation.GET_ROLES, () -> super.getRoles(userId));
+    }
+
+    /**
+     * @return the number of hedge calls sent
+     */
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    /**
+     * @return the number of calls answered by the hedge rather than the primary
+     */
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * @return the delay after which a call of the operation is currently hedged, or {@code null}
+     *         if the operation is not hedged
+     */
+    public Duration currentDelay(IdpOperation operation) {
+        HedgeDelay delay = delays.get(operation);
+        return delay == null ? null : Duration.ofNanos(delay.delayNanos());
+    }
+
+    private <T> Mono<T> hedged(IdpOperation operation, Supplier<Mono<T>> call) {
+        HedgeDelay delay = delays.get(operation);
+        if (delay == null) {
+            return Mono.defer(call);
+        }
+        return Mono.defer(() -> {
+            budget.deposit();
+            Race race = new Race();
+            Mono<T> primary = timed(delay, call)
+                    .onErrorResume(error -> race.hedgeSent ? race.failed(error) : Mono.error(error));
+            Mono<T> hedge = Mono.delay(Duration.ofNanos(delay.delayNanos()))
+                    .flatMap(tick -> {
+                        if (!budget.tryWithdraw()) {
+                            return Mono.<T>never();
+                        }
+                        hedges.increment();
+                        race.hedgeSent = true;
+                        return timed(delay, call)
+                                .doOnNext(value -> hedgeWins.increment())
+                                .onErrorResume(race::failed);
+                    });
+            return Mono.firstWithSignal(primary, hedge);
+        });
+    }
+
+    /**
+     * Outcome of the two attempts of a hedged call: once the hedge is sent, an error from either
+     * attempt only ends the call when the other one has failed too.
+     */
+    private static final class Race {
+        volatile boolean hedgeSent;
+        private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+
+        <T> Mono<T> failed(Throwable error) {
+            if (firstError.compareAndSet(null, error)) {
+                return Mono.never();
+            }
+            Throwable first = firstError.get();
+            if (first != error) {
+                first.addSuppressed(error);
+            }
+            return Mono.error(first);
+        }
+    }
+
+    private static <T> Mono<T> timed(HedgeDelay delay, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return Mono.defer(call).doOnNext(value -> delay.record(System.nanoTime() - startedAt));
+        });
+    }
+}
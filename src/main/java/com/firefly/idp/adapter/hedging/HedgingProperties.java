@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.hedging;
+
+import com.firefly.idp.adapter.IdpOperation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Settings for {@link HedgingIdpAdapter}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HedgingProperties {
+
+    /**
+     * Operations to hedge. Only {@code INTROSPECT}, {@code GET_USER_INFO} and {@code GET_ROLES}
+     * are idempotent reads; other entries are ignored.
+     */
+    @Builder.Default
+    private Set<IdpOperation> operations = EnumSet.of(
+            IdpOperation.INTROSPECT, IdpOperation.GET_USER_INFO, IdpOperation.GET_ROLES);
+
+    /** Latency percentile of the previous window after which a hedge is sent. */
+    @Builder.Default
+    private double percentile = 95.0;
+
+    /** Length of the latency window the percentile is computed over. */
+    @Builder.Default
+    private Duration window = Duration.ofSeconds(10);
+
+    /** Samples a window needs before its percentile replaces the current delay. */
+    @Builder.Default
+    private long minSamples = 100;
+
+    /** Hedge delay used until a full window has been observed. */
+    @Builder.Default
+    private Duration initialDelay = Duration.ofMillis(100);
+
+    /** Lower bound on the hedge delay. */
+    @Builder.Default
+    private Duration minDelay = Duration.ofMillis(5);
+
+    /** Upper bound on the hedge delay. */
+    @Builder.Default
+    private Duration maxDelay = Duration.ofSeconds(1);
+
+    /** Hedges allowed as a percentage of hedgeable calls. */
+    @Builder.Default
+    private double budgetPercent = 5.0;
+
+    /** Hedges that may be sent in a burst once the budget has accumulated. */
+    @Builder.Default
+    private int budgetBurst = 10;
+}
@@ -0,0 +1,610 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.inmemory;
+
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.dtos.*;
+import com.firefly.idp.dtos.enums.UserRoleEnum;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * {@link IdpAdapter} kept entirely in memory, for load tests and local development.
+ *
+ * Users, roles, scopes, sessions, MFA challenges and tokens live in concurrent maps, so the
+ * adapter scales with cores instead of becoming the bottleneck of a load test. Latency and error
+ * injection in {@link InMemoryIdpProperties} simulate a slow or flaky provider.
+ *
+ * Tokens are random but not cryptographically strong, and passwords are stored as given:
+ * never use this adapter outside tests and development.
+ */
+public class InMemoryIdpAdapter implements IdpAdapter {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final InMemoryIdpProperties properties;
+    private final Clock clock;
+
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+    private final Map<String, String> userIdsByUsername = new ConcurrentHashMap<>();
+    private final Set<String> roles = ConcurrentHashMap.newKeySet();
+    private final Map<String, CreateScopeResponse> scopes = new ConcurrentHashMap<>();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, IssuedToken> accessTokens = new ConcurrentHashMap<>();
+    private final Map<String, IssuedToken> refreshTokens = new ConcurrentHashMap<>();
+    private final Map<String, Challenge> challenges = new ConcurrentHashMap<>();
+
+    public InMemoryIdpAdapter() {
+        this(InMemoryIdpProperties.builder().build());
+    }
+
+    public InMemoryIdpAdapter(InMemoryIdpProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    public InMemoryIdpAdapter(InMemoryIdpProperties properties, Clock clock) {
+        this.properties = Objects.requireNonNull(properties, "properties");
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    @Override
+    public Mono<ResponseEntity<TokenResponse>> login(LoginRequest request) {
+        return simulate(() -> {
+            User user = userByUsername(request.getUsername());
+            if (user == null || !user.enabled || !Objects.equals(user.password, request.getPassword())) {
+                return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+            }
+            Instant now = clock.instant();
+            Session session = new Session(randomId(), user.id, now);
+            // tokens first, so purgeExpired never sees the new session without any
+            TokenResponse tokens = issueTokens(user, session, request.getScope());
+            sessions.put(session.id, session);
+            user.sessions.put(session.id, session);
+            return Mono.just(ResponseEntity.ok(tokens));
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<TokenResponse>> refresh(RefreshRequest request) {
+        return simulate(() -> {
+            IssuedToken refreshToken = refreshTokens.remove(request.getRefreshToken());
+            Session session = refreshToken == null ? null : sessions.get(refreshToken.sessionId);
+            User user = session == null ? null : users.get(session.userId);
+            if (refreshToken == null || isExpired(refreshToken) || user == null) {
+                return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+            }
+            session.lastAccessAt = clock.instant();
+            TokenResponse tokens = issueTokens(user, session, refreshToken.scope);
+            // the replaced pair goes only once the new one is in place
+            session.tokens.remove(request.getRefreshToken());
+            if (refreshToken.pairedToken != null) {
+                accessTokens.remove(refreshToken.pairedToken);
+                session.tokens.remove(refreshToken.pairedToken);
+            }
+            return Mono.just(ResponseEntity.ok(tokens));
+        });
+    }
+
+    @Override
+    public Mono<Void> logout(LogoutRequest request) {
+        return simulate(() -> {
+            IssuedToken token = request.getAccessToken() == null ? null : accessTokens.get(request.getAccessToken());
+            if (token == null && request.getRefreshToken() != null) {
+                token = refreshTokens.get(request.getRefreshToken());
+            }
+            if (token != null) {
+                endSession(token.sessionId);
+            }
+            return Mono.empty();
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+        return simulate(() -> {
+            IssuedToken token = accessToken == null ? null : accessTokens.get(accessToken);
+            User user = token == null ? null : users.get(token.userId);
+            if (token == null || user == null || isExpired(token)) {
+                if (token != null) {
+                    accessTokens.remove(accessToken);
+                }
+                return Mono.just(ResponseEntity.ok(IntrospectionResponse.builder().active(false).build()));
+            }
+            return Mono.just(ResponseEntity.ok(IntrospectionResponse.builder()
+                    .active(true)
+                    .scope(token.scope)
+                    .username(user.username)
+                    .exp(token.expiresAt.getEpochSecond())
+                    .iat(token.issuedAt.getEpochSecond())
+                    .sub(user.id)
+                    .aud(properties.getAudience())
+                    .iss(properties.getIssuer())
+                    .jti(token.id)
+                    .partyId(user.partyId)
+                    .userRole(user.userRole)
+                    .build()));
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<UserInfoResponse>> getUserInfo(String accessToken) {
+        return simulate(() -> {
+            IssuedToken token = accessToken == null ? null : accessTokens.get(accessToken);
+            User user = token == null || isExpired(token) ? null : users.get(token.userId);
+            if (user == null) {
+                return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+            }
+            return Mono.just(ResponseEntity.ok(UserInfoResponse.builder()
+                    .sub(user.id)
+                    .email(user.email)
+                    .emailVerified(Boolean.FALSE)
+                    .name(fullName(user))
+                    .preferredUsername(user.username)
+                    .givenName(user.givenName)
+                    .familyName(user.familyName)
+                    .build()));
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateUserResponse>> createUser(CreateUserRequest request) {
+        return simulate(() -> {
+            String id = UUID.randomUUID().toString();
+            if (request.getUsername() == null || userIdsByUsername.putIfAbsent(request.getUsername(), id) != null) {
+                return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build());
+            }
+            User user = new User(id, request.getUsername(), clock.instant());
+            user.email = request.getEmail();
+            user.password = request.getPassword();
+            user.givenName = request.getGivenName();
+            user.familyName = request.getFamilyName();
+            user.partyId = request.getPartyId();
+            user.userRole = request.getUserRole();
+            users.put(id, user);
+            return Mono.just(ResponseEntity.status(HttpStatus.CREATED).body(CreateUserResponse.builder()
+                    .id(id)
+                    .username(user.username)
+                    .email(user.email)
+                    .createdAt(user.createdAt)
+                    .build()));
+        });
+    }
+
+    @Override
+    public Mono<Void> changePassword(ChangePasswordRequest request) {
+        return simulate(() -> {
+            User user = requireUser(request.getUserId());
+            if (request.getOldPassword() != null && !Objects.equals(user.password, request.getOldPassword())) {
+                return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Old password does not match"));
+            }
+            user.password = request.getNewPassword();
+            return Mono.empty();
+        });
+    }
+
+    @Override
+    public Mono<Void> resetPassword(String username) {
+        return simulate(() -> {
+            if (userByUsername(username) == null) {
+                return Mono.error(notFound("user"));
+            }
+            return Mono.empty();
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<MfaChallengeResponse>> mfaChallenge(String username) {
+        return simulate(() -> {
+            User user = userByUsername(username);
+            if (user == null) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+            }
+            Challenge challenge = new Challenge(randomId(), user.id,
+                    clock.instant().plus(properties.getMfaChallengeTtl()));
+            challenges.put(challenge.id, challenge);
+            return Mono.just(ResponseEntity.ok(MfaChallengeResponse.builder()
+                    .challengeId(challenge.id)
+                    .deliveryMethod("TOTP")
+                    .destination(user.username)
+                    .expiresAt(challenge.expiresAt)
+                    .build()));
+        });
+    }
+
+    @Override
+    public Mono<Void> mfaVerify(MfaVerifyRequest request) {
+        return simulate(() -> {
+            Challenge challenge = request.getChallengeId() == null ? null : challenges.get(request.getChallengeId());
+            if (challenge != null && !clock.instant().isBefore(challenge.expiresAt)) {
+                challenges.remove(challenge.id, challenge);
+                challenge = null;
+            }
+            if (challenge == null
+                    || (request.getUserId() != null && !request.getUserId().equals(challenge.userId))
+                    || !Objects.equals(properties.getMfaCode(), request.getCode())) {
+                return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "MFA verification failed"));
+            }
+            challenges.remove(challenge.id);
+            return Mono.empty();
+        });
+    }
+
+    @Override
+    public Mono<Void> revokeRefreshToken(String refreshToken) {
+        return simulate(() -> {
+            IssuedToken token = refreshToken == null ? null : refreshTokens.remove(refreshToken);
+            if (token != null) {
+                Session session = sessions.get(token.sessionId);
+                if (session != null) {
+                    session.tokens.remove(refreshToken);
+                }
+            }
+            return Mono.empty();
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<SessionInfo>>> listSessions(String userId) {
+        return simulate(() -> {
+            User user = users.get(userId);
+            return Mono.just(ResponseEntity.ok(user == null ? List.of() : toSessionInfos(user.sessions.values())));
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<SessionInfo>>> listSessions(String userId, int offset, int limit) {
+        return simulate(() -> {
+            User user = users.get(userId);
+            if (user == null) {
+                return Mono.just(ResponseEntity.ok(List.of()));
+            }
+            return Mono.just(ResponseEntity.ok(toSessionInfos(
+                    user.sessions.values().stream().skip(Math.max(0, offset)).limit(Math.max(0, limit)).toList())));
+        });
+    }
+
+    @Override
+    public Mono<Void> revokeSession(String sessionId) {
+        return simulate(() -> {
+            endSession(sessionId);
+            return Mono.empty();
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<String>>> getRoles(String userId) {
+        return simulate(() -> {
+            User user = users.get(userId);
+            if (user == null) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+            }
+            return Mono.just(ResponseEntity.ok(List.copyOf(user.roles)));
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteUser(String userId) {
+        return simulate(() -> {
+            User user = users.remove(userId);
+            if (user == null) {
+                return Mono.error(notFound("user"));
+            }
+            userIdsByUsername.remove(user.username, user.id);
+            user.sessions.keySet().forEach(this::endSession);
+            return Mono.empty();
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<UpdateUserResponse>> updateUser(UpdateUserRequest request) {
+        return simulate(() -> {
+            User user = users.get(request.getUserId());
+            if (user == null) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+            }
+            if (request.getEmail() != null) {
+                user.email = request.getEmail();
+            }
+            if (request.getGivenName() != null) {
+                user.givenName = request.getGivenName();
+            }
+            if (request.getFamilyName() != null) {
+                user.familyName = request.getFamilyName();
+            }
+            if (request.getEnabled() != null) {
+                user.enabled = request.getEnabled();
+            }
+            return Mono.just(ResponseEntity.ok(UpdateUserResponse.builder()
+                    .id(user.id)
+                    .username(user.username)
+                    .email(user.email)
+                    .updatedAt(clock.instant())
+                    .build()));
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateRolesResponse>> createRoles(CreateRolesRequest request) {
+        return simulate(() -> {
+            List<String> created = new ArrayList<>();
+            if (request.getRoleNames() != null) {
+                for (String role : request.getRoleNames()) {
+                    if (role != null && roles.add(role)) {
+                        created.add(role);
+                    }
+                }
+            }
+            return Mono.just(ResponseEntity.status(HttpStatus.CREATED)
+                    .body(CreateRolesResponse.builder().createdRoleNames(created).build()));
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateScopeResponse>> createScope(CreateScopeRequest request) {
+        return simulate(() -> {
+            CreateScopeResponse scope = CreateScopeResponse.builder()
+                    .id(randomId())
+                    .name(request.getName())
+                    .createdAt(clock.instant())
+                    .build();
+            if (request.getName() == null || scopes.putIfAbsent(request.getName(), scope) != null) {
+                return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build());
+            }
+            return Mono.just(ResponseEntity.status(HttpStatus.CREATED).body(scope));
+        });
+    }
+
+    @Override
+    public Mono<Void> assignRolesToUser(AssignRolesRequest request) {
+        return simulate(() -> {
+            User user = requireUser(request.getUserId());
+            Collection<String> names = request.getRoleNames() == null ? List.of() : request.getRoleNames();
+            for (String role : names) {
+                if (!roles.contains(role)) {
+                    return Mono.error(notFound("role " + role));
+                }
+            }
+            user.roles.addAll(names);
+            return Mono.empty();
+        });
+    }
+
+    @Override
+    public Mono<Void> removeRolesFromUser(AssignRolesRequest request) {
+        return simulate(() -> {
+            User user = requireUser(request.getUserId());
+            if (request.getRoleNames() != null) {
+                request.getRoleNames().forEach(user.roles::remove);
+            }
+            return Mono.empty();
+        });
+    }
+
+    /**
+     * Drop expired tokens and MFA challenges, and sessions left without live tokens. Expired tokens
+     * and challenges are otherwise removed lazily when they are next looked up, but sessions only
+     * here; long-running load tests should call this periodically.
+     *
+     * @return the number of entries removed
+     */
+    public int purgeExpired() {
+        Instant now = clock.instant();
+        int before = accessTokens.size() + refreshTokens.size() + challenges.size() + sessions.size();
+        accessTokens.values().removeIf(token -> !now.isBefore(token.expiresAt));
+        refreshTokens.values().removeIf(token -> !now.isBefore(token.expiresAt));
+        challenges.values().removeIf(challenge -> !now.isBefore(challenge.expiresAt));
+        for (Session session : sessions.values()) {
+            session.tokens.entrySet().removeIf(entry ->
+                    !(entry.getValue() ? accessTokens : refreshTokens).containsKey(entry.getKey()));
+            if (session.tokens.isEmpty()) {
+                endSession(session.id);
+            }
+        }
+        return before - (accessTokens.size() + refreshTokens.size() + challenges.size() + sessions.size());
+    }
+
+    private <T> Mono<T> simulate(Supplier<Mono<T>> operation) {
+        return Mono.defer(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Mono<T> call = properties.getErrorRate() > 0 && random.nextDouble() < properties.getErrorRate()
+                    ? Mono.error(new ResponseStatusException(HttpStatus.valueOf(properties.getErrorStatus()),
+                    "Injected failure"))
+                    : Mono.defer(operation);
+            long delay = properties.getLatency().toNanos();
+            long jitter = properties.getLatencyJitter().toNanos();
+            if (jitter > 0) {
+                delay += random.nextLong(jitter);
+            }
+            return delay > 0 ? Mono.delay(Duration.ofNanos(delay)).then(call) : call;
+        });
+    }
+
+    private TokenResponse issueTokens(User user, Session session, String scope) {
+        Instant now = clock.instant();
+        String accessToken = randomToken();
+        String refreshToken = randomToken();
+        IssuedToken access = new IssuedToken(randomId(), user.id, session.id, scope, now,
+                now.plus(properties.getAccessTokenTtl()), null);
+        IssuedToken refresh = new IssuedToken(randomId(), user.id, session.id, scope, now,
+                now.plus(properties.getRefreshTokenTtl()), accessToken);
+        accessTokens.put(accessToken, access);
+        refreshTokens.put(refreshToken, refresh);
+        session.tokens.put(accessToken, Boolean.TRUE);
+        session.tokens.put(refreshToken, Boolean.FALSE);
+        return TokenResponse.builder()
+                .accessToken(accessToken)
+                .refreshToken(refreshToken)
+                .tokenType("Bearer")
+                .expiresIn(properties.getAccessTokenTtl().toSeconds())
+                .scope(scope)
+                .build();
+    }
+
+    private void endSession(String sessionId) {
+        Session session = sessionId == null ? null : sessions.remove(sessionId);
+        if (session == null) {
+            return;
+        }
+        session.tokens.forEach((token, isAccess) -> (isAccess ? accessTokens : refreshTokens).remove(token));
+        User user = users.get(session.userId);
+        if (user != null) {
+            user.sessions.remove(sessionId);
+        }
+    }
+
+    private List<SessionInfo> toSessionInfos(Collection<Session> userSessions) {
+        List<SessionInfo> infos = new ArrayList<>(userSessions.size());
+        for (Session session : userSessions) {
+            infos.add(SessionInfo.builder()
+                    .sessionId(session.id)
+                    .userId(session.userId)
+                    .createdAt(session.createdAt)
+                    .lastAccessAt(session.lastAccessAt)
+                    .build());
+        }
+        return infos;
+    }
+
+    private User userByUsername(String username) {
+        String id = username == null ? null : userIdsByUsername.get(username);
+        return id == null ? null : users.get(id);
+    }
+
+    private User requireUser(String userId) {
+        User user = userId == null ? null : users.get(userId);
+        if (user == null) {
+            throw notFound("user");
+        }
+        return user;
+    }
+
+    private boolean isExpired(IssuedToken token) {
+        return !clock.instant().isBefore(token.expiresAt);
+    }
+
+    private static String fullName(User user) {
+        if (user.givenName == null) {
+            return user.familyName;
+        }
+        return user.familyName == null ? user.givenName : user.givenName + " " + user.familyName;
+    }
+
+    private static ResponseStatusException notFound(String what) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown " + what);
+    }
+
+    private static String randomId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    private static String randomToken() {
+        byte[] bytes = new byte[32];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);
+    }
+
+    private static final class User {
+        final String id;
+        final String username;
+        final Instant createdAt;
+        final Set<String> roles = ConcurrentHashMap.newKeySet();
+        final Map<String, Session> sessions = new ConcurrentSkipListMap<>();
+        volatile String email;
+        volatile String password;
+        volatile String givenName;
+        volatile String familyName;
+        volatile boolean enabled = true;
+        volatile UUID partyId;
+        volatile UserRoleEnum userRole;
+
+        User(String id, String username, Instant createdAt) {
+            this.id = id;
+            this.username = username;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static final class Session {
+        final String id;
+        final String userId;
+        final Instant createdAt;
+        /** Tokens issued for this session, mapped to true for access tokens. */
+        final Map<String, Boolean> tokens = new ConcurrentHashMap<>();
+        volatile Instant lastAccessAt;
+
+        Session(String id, String userId, Instant createdAt) {
+            this.id = id;
+            this.userId = userId;
+            this.createdAt = createdAt;
+            this.lastAccessAt = createdAt;
+        }
+    }
+
+    private static final class IssuedToken {
+        final String id;
+        final String userId;
+        final String sessionId;
+        final String scope;
+        final Instant issuedAt;
+        final Instant expiresAt;
+        /** For a refresh token, the access token issued with it. */
+        final String pairedToken;
+
+        IssuedToken(String id, String userId, String sessionId, String scope, Instant issuedAt, Instant expiresAt,
+                    String pairedToken) {
+            this.id = id;
+            this.userId = userId;
+            this.sessionId = sessionId;
+            this.scope = scope;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+            this.pairedToken = pairedToken;
+        }
+    }
+
+    private static final class Challenge {
+        final String id;
+        final String userId;
+        final Instant expiresAt;
+
+        Challenge(String id, String userId, Instant expiresAt) {
+            this.id = id;
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
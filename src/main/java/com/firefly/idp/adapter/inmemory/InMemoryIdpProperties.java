@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.inmemory;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for {@link InMemoryIdpAdapter}, including latency and error injection.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InMemoryIdpProperties {
+
+    /** Value of the {@code iss} claim in introspection results. */
+    @Builder.Default
+    private String issuer = "in-memory";
+
+    /** Value of the {@code aud} claim in introspection results. */
+    @Builder.Default
+    private List<String> audience = List.of("account");
+
+    @Builder.Default
+    private Duration accessTokenTtl = Duration.ofMinutes(5);
+
+    @Builder.Default
+    private Duration refreshTokenTtl = Duration.ofMinutes(30);
+
+    @Builder.Default
+    private Duration mfaChallengeTtl = Duration.ofMinutes(5);
+
+    /** Code accepted by {@code mfaVerify} for every challenge. */
+    @Builder.Default
+    private String mfaCode = "000000";
+
+    /** Fixed latency added to every call. */
+    @Builder.Default
+    private Duration latency = Duration.ZERO;
+
+    /** Upper bound of uniformly distributed latency added on top of {@link #latency}. */
+    @Builder.Default
+    private Duration latencyJitter = Duration.ZERO;
+
+    /** Fraction of calls, between 0 and 1, that fail with {@link #errorStatus}. */
+    @Builder.Default
+    private double errorRate = 0;
+
+    /** HTTP status of injected failures. */
+    @Builder.Default
+    private int errorStatus = 503;
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Caches the verification keys published in a provider's JWKS.
+ *
+ * Lookups are served from memory. Once the key set is older than the refresh interval it is
+ * re-fetched in the background while the current keys keep serving; an unknown {@code kid}
+ * (typically a key rotation) triggers an immediate refresh, rate limited by the minimum refresh
+ * interval. Concurrent refreshes collapse into a single fetch, and a failed fetch keeps the
+ * previous keys; every refresh, periodic or not, is spaced by the minimum refresh interval so an
+ * unavailable endpoint is not hit back to back. Each key remembers the {@code kty}, curve and
+ * optional {@code alg} it was published with, and is only handed out for a matching JWS algorithm.
+ */
+public class JwksKeyCache {
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final JwksSource source;
+    private final JwtVerificationProperties properties;
+    private final ObjectMapper mapper;
+    private final Clock clock;
+    private final AtomicReference<Mono<KeySet>> refreshing = new AtomicReference<>();
+
+    private volatile KeySet keys = new KeySet(Map.of(), 0L);
+    private volatile long lastRefreshAttempt;
+
+    public JwksKeyCache(JwksSource source, JwtVerificationProperties properties, ObjectMapper mapper, Clock clock) {
+        this.source = Objects.requireNonNull(source, "source");
+        this.properties = Objects.requireNonNull(properties, "properties");
+        this.mapper = Objects.requireNonNull(mapper, "mapper");
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    /**
+     * Resolve the verification key for a key id.
+     *
+     * @param keyId the token's {@code kid} header; may be null when the set holds a single key
+     * @return a reactive publisher with the key, or empty when the provider does not publish it
+     */
+    public Mono<PublicKey> key(String keyId) {
+        return jwk(keyId).map(Jwk::key);
+    }
+
+    /**
+     * Resolve the verification key for a key id, together with the algorithms it may be used with.
+     *
+     * @param keyId the token's {@code kid} header; may be null when the set holds a single key
+     * @return a reactive publisher with the key, or empty when the provider does not publish it
+     */
+    Mono<Jwk> jwk(String keyId) {
+        long now = clock.millis();
+        KeySet current = keys;
+        boolean throttled = now - lastRefreshAttempt < properties.getJwksMinRefreshInterval().toMillis();
+        if (!throttled && now - current.fetchedAt >= properties.getJwksRefreshInterval().toMillis()) {
+            refresh(now).subscribe();
+        }
+        Jwk key = current.find(keyId);
+        if (key != null) {
+            return Mono.just(key);
+        }
+        if (throttled) {
+            Mono<KeySet> inflight = refreshing.get();
+            return inflight == null ? Mono.empty() : inflight.flatMap(set -> Mono.justOrEmpty(set.find(keyId)));
+        }
+        return refresh(now).flatMap(set -> Mono.justOrEmpty(set.find(keyId)));
+    }
+
+    private Mono<KeySet> refresh(long now) {
+        Mono<KeySet> inflight = refreshing.get();
+        if (inflight != null) {
+            return inflight;
+        }
+        Mono<KeySet> candidate = Mono.defer(source::fetch)
+                .map(json -> parse(json, clock.millis()))
+                .doOnNext(set -> keys = set)
+                .onErrorResume(e -> Mono.just(keys))
+                .doFinally(signal -> refreshing.set(null))
+                .cache();
+        if (refreshing.compareAndSet(null, candidate)) {
+            lastRefreshAttempt = now;
+            return candidate;
+        }
+        inflight = refreshing.get();
+        return inflight != null ? inflight : Mono.just(keys);
+    }
+
+    private KeySet parse(String json, long fetchedAt) {
+        JsonNode document;
+        try {
+            document = mapper.readTree(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid JWKS document", e);
+        }
+        Map<String, Jwk> parsed = new HashMap<>();
+        for (JsonNode jwk : document.path("keys")) {
+            if ("enc".equals(jwk.path("use").asText())) {
+                continue;
+            }
+            PublicKey key = toPublicKey(jwk);
+            if (key != null) {
+                parsed.put(jwk.path("kid").asText(""), new Jwk(key, jwk.path("kty").asText(),
+                        jwk.path("crv").asText(null), jwk.path("alg").asText(null)));
+            }
+        }
+        return new KeySet(Map.copyOf(parsed), fetchedAt);
+    }
+
+    private static PublicKey toPublicKey(JsonNode jwk) {
+        try {
+            switch (jwk.path("kty").asText()) {
+                case "RSA" -> {
+                    return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                            unsigned(jwk, "n"), unsigned(jwk, "e")));
+                }
+                case "EC" -> {
+                    String curve = switch (jwk.path("crv").asText()) {
+                        case "P-256" -> "secp256r1";
+                        case "P-384" -> "secp384r1";
+                        case "P-521" -> "secp521r1";
+                        default -> null;
+                    };
+                    if (curve == null) {
+                        return null;
+                    }
+                    AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                    parameters.init(new ECGenParameterSpec(curve));
+                    ECPoint point = new ECPoint(unsigned(jwk, "x"), unsigned(jwk, "y"));
+                    return KeyFactory.getInstance("EC").generatePublic(
+                            new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+                }
+                default -> {
+                    return null;
+                }
+            }
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static BigInteger unsigned(JsonNode jwk, String field) {
+        return new BigInteger(1, DECODER.decode(jwk.path(field).asText()));
+    }
+
+    /**
+     * A published key with the JWK parameters that restrict the algorithms it verifies.
+     */
+    record Jwk(PublicKey key, String keyType, String curve, String algorithm) {
+
+        /**
+         * @return whether a token signed with the JWS algorithm may be verified with this key
+         */
+        boolean accepts(String jwsAlgorithm) {
+            if (jwsAlgorithm == null || (algorithm != null && !algorithm.equals(jwsAlgorithm))) {
+                return false;
+            }
+            return switch (jwsAlgorithm) {
+                case "RS256", "RS384", "RS512", "PS256", "PS384", "PS512" -> "RSA".equals(keyType);
+                case "ES256" -> "EC".equals(keyType) && "P-256".equals(curve);
+                case "ES384" -> "EC".equals(keyType) && "P-384".equals(curve);
+                case "ES512" -> "EC".equals(keyType) && "P-521".equals(curve);
+                default -> false;
+            };
+        }
+    }
+
+    private static final class KeySet {
+        final Map<String, Jwk> byKeyId;
+        final long fetchedAt;
+
+        KeySet(Map<String, Jwk> byKeyId, long fetchedAt) {
+            this.byKeyId = byKeyId;
+            this.fetchedAt = fetchedAt;
+        }
+
+        Jwk find(String keyId) {
+            if (keyId != null) {
+                return byKeyId.get(keyId);
+            }
+            return byKeyId.size() == 1 ? byKeyId.values().iterator().next() : null;
+        }
+    }
+}
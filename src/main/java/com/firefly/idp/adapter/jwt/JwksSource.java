@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.jwt;
+
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Source of a JSON Web Key Set document (RFC 7517).
+ */
+@FunctionalInterface
+public interface JwksSource {
+
+    /**
+     * Fetch the current key set.
+     *
+     * @return a reactive publisher with the raw JWKS JSON
+     */
+    Mono<String> fetch();
+
+    /**
+     * Create a source that reads the key set from the provider's JWKS endpoint.
+     *
+     * @param webClient client used for the request
+     * @param jwksUri   the provider's {@code jwks_uri}
+     * @return a source backed by HTTP
+     */
+    static JwksSource fromWebClient(WebClient webClient, String jwksUri) {
+        return () -> webClient.get()
+                .uri(jwksUri)
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds top-level claims of a JWT without allocating or verifying it.
+ *
+ * The payload is base64url-decoded into a per-thread scratch buffer and scanned for the first
+ * top-level member named by one of the configured claims whose value is a string or a number.
+ * The result is the value's location in {@link #buffer()}, packed into a {@code long}; strings are
+ * unescaped in place, where only escaped slashes are supported. Meant for hot-path checks that need
+ * one claim, such as routing by {@code iss} or matching {@code sid}; use {@link SignedJwt} for
+ * anything else.
+ */
+public final class JwtClaimScanner {
+
+    /** No configured claim holds a string or number, or the token is not a JWT. */
+    public static final long NOT_FOUND = -1;
+
+    /** A configured claim was found but uses escapes this scanner does not decode. */
+    public static final long UNREADABLE = -2;
+
+    private static final int MAX_PAYLOAD_CHARS = 64 * 1024;
+    private static final long STRING = 1L << 62;
+    private static final byte[] BASE64URL = new byte[128];
+
+    static {
+        Arrays.fill(BASE64URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final ThreadLocal<byte[]> scratch = ThreadLocal.withInitial(() -> new byte[2048]);
+    private final byte[][] names;
+
+    /**
+     * @param claims names of the claims to look for
+     */
+    public JwtClaimScanner(List<String> claims) {
+        if (claims.isEmpty() || claims.size() > 0x3FFF) {
+            throw new IllegalArgumentException("Between 1 and 16383 claims are required");
+        }
+        this.names = claims.stream().map(name -> name.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+    }
+
+    /**
+     * Decode the token's payload into this thread's buffer and locate the first configured claim.
+     *
+     * @return the value's location, or {@link #NOT_FOUND} or {@link #UNREADABLE}
+     */
+    public long find(String token) {
+        if (token == null) {
+            return NOT_FOUND;
+        }
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0 || second - first - 1 > MAX_PAYLOAD_CHARS) {
+            return NOT_FOUND;
+        }
+        byte[] buffer = scratch.get();
+        int capacity = (second - first - 1) * 3 / 4 + 3;
+        if (buffer.length < capacity) {
+            buffer = new byte[Integer.highestOneBit(capacity) << 1];
+            scratch.set(buffer);
+        }
+        int length = decode(token, first + 1, second, buffer);
+        return length < 0 ? NOT_FOUND : scan(buffer, length);
+    }
+
+    /**
+     * @return this thread's buffer, holding the payload decoded by the last {@link #find}
+     */
+    public byte[] buffer() {
+        return scratch.get();
+    }
+
+    /**
+     * @return the index, in the configured list, of the claim found at the location
+     */
+    public static int claim(long location) {
+        return (int) ((location >>> 48) & 0x3FFF);
+    }
+
+    /**
+     * @return the first byte of the value
+     */
+    public static int from(long location) {
+        return (int) ((location >>> 24) & 0xFFFFFF);
+    }
+
+    /**
+     * @return one past the last byte of the value
+     */
+    public static int to(long location) {
+        return (int) (location & 0xFFFFFF);
+    }
+
+    /**
+     * @return whether the value is a string rather than a number
+     */
+    public static boolean isString(long location) {
+        return (location & STRING) != 0;
+    }
+
+    /**
+     * @return the number at the location, or {@code null} if it is not an integer that fits a long
+     */
+    public static Long longValue(byte[] buffer, long location) {
+        if (isString(location)) {
+            return null;
+        }
+        int from = from(location);
+        int to = to(location);
+        boolean negative = from < to && buffer[from] == '-';
+        int i = negative ? from + 1 : from;
+        if (i == to || to - i > 18) {
+            return null;
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            byte b = buffer[i];
+            if (b < '0' || b > '9') {
+                return null;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    private static int decode(String token, int from, int to, byte[] out) {
+        int bits = 0;
+        int count = 0;
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            char c = token.charAt(i);
+            int value = c < 128 ? BASE64URL[c] : -1;
+            if (value < 0) {
+                if (c == '=') {
+                    break;
+                }
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            count += 6;
+            if (count >= 8) {
+                count -= 8;
+                out[length++] = (byte) (bits >> count);
+            }
+        }
+        return length;
+    }
+
+    private long scan(byte[] json, int length) {
+        int depth = 0;
+        boolean expectKey = false;
+        int i = 0;
+        while (i < length) {
+            byte c = json[i];
+            if (c == '{' || c == '[') {
+                depth++;
+                expectKey = c == '{' && depth == 1;
+                i++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+                i++;
+            } else if (c == ',') {
+                expectKey = depth == 1;
+                i++;
+            } else if (c == '"') {
+                int start = i + 1;
+                int end = endOfString(json, start, length);
+                if (end < 0) {
+                    return NOT_FOUND;
+                }
+                i = end + 1;
+                if (expectKey) {
+                    expectKey = false;
+                    int claim = claimOf(json, start, end);
+                    if (claim >= 0) {
+                        long location = value(json, i, length, claim);
+                        if (location != NOT_FOUND) {
+                            return location;
+                        }
+                    }
+                }
+            } else {
+                i++;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private int claimOf(byte[] json, int from, int to) {
+        for (int claim = 0; claim < names.length; claim++) {
+            if (Arrays.equals(names[claim], 0, names[claim].length, json, from, to)) {
+                return claim;
+            }
+        }
+        return -1;
+    }
+
+    private static long value(byte[] json, int i, int length, int claim) {
+        while (i < length && (json[i] == ' ' || json[i] == ':' || json[i] == '\t' || json[i] == '\n' || json[i] == '\r')) {
+            i++;
+        }
+        if (i >= length) {
+            return NOT_FOUND;
+        }
+        if (json[i] == '-' || (json[i] >= '0' && json[i] <= '9')) {
+            int end = i + 1;
+            while (end < length && isNumberByte(json[end])) {
+                end++;
+            }
+            return location(claim, i, end, false);
+        }
+        if (json[i] != '"') {
+            return NOT_FOUND;
+        }
+        int start = i + 1;
+        int end = endOfString(json, start, length);
+        if (end < 0) {
+            return NOT_FOUND;
+        }
+        int write = start;
+        for (int read = start; read < end; read++) {
+            byte b = json[read];
+            if (b == '\\') {
+                if (json[read + 1] != '/') {
+                    return UNREADABLE;
+                }
+                b = '/';
+                read++;
+            }
+            json[write++] = b;
+        }
+        return location(claim, start, write, true);
+    }
+
+    private static long location(int claim, int from, int to, boolean string) {
+        return (string ? STRING : 0) | ((long) claim << 48) | ((long) from << 24) | to;
+    }
+
+    private static boolean isNumberByte(byte b) {
+        return (b >= '0' && b <= '9') || b == '.' || b == 'e' || b == 'E' || b == '+' || b == '-';
+    }
+
+    private static int endOfString(byte[] json, int from, int length) {
+        for (int i = from; i < length; i++) {
+            if (json[i] == '\\') {
+                i++;
+            } else if (json[i] == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.dtos.IntrospectionResponse;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.Objects;
+
+/**
+ * {@link IdpAdapter} decorator that introspects JWT access tokens locally.
+ *
+ * JWTs signed with a key from the provider's JWKS are verified in-process without a network call.
+ * Opaque tokens, and JWTs whose key the JWKS does not publish, fall back to the wrapped adapter's
+ * {@link IdpAdapter#introspect(String)}.
+ */
+public class JwtIntrospectingIdpAdapter extends ForwardingIdpAdapter {
+
+    private final JwtVerifier verifier;
+
+    public JwtIntrospectingIdpAdapter(IdpAdapter delegate, JwtVerifier verifier) {
+        super(delegate);
+        this.verifier = Objects.requireNonNull(verifier, "verifier");
+    }
+
+    public JwtIntrospectingIdpAdapter(IdpAdapter delegate, JwksSource jwksSource, JwtVerificationProperties properties) {
+        this(delegate, createVerifier(jwksSource, properties));
+    }
+
+    @Override
+    public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+        return Mono.defer(() -> verifier.verify(accessToken))
+                .map(ResponseEntity::ok)
+                .switchIfEmpty(Mono.defer(() -> super.introspect(accessToken)));
+    }
+
+    private static JwtVerifier createVerifier(JwksSource jwksSource, JwtVerificationProperties properties) {
+        ObjectMapper mapper = new ObjectMapper();
+        Clock clock = Clock.systemUTC();
+        return new JwtVerifier(new JwksKeyCache(jwksSource, properties, mapper, clock), properties, mapper, clock);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Settings for local JWT verification in {@link JwtIntrospectingIdpAdapter}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwtVerificationProperties {
+
+    /** Accepted {@code iss} values. Required. */
+    @Builder.Default
+    private Set<String> issuers = Set.of();
+
+    /** Accepted {@code aud} values; the token must name at least one. Required. */
+    @Builder.Default
+    private Set<String> audiences = Set.of();
+
+    /** Tolerance applied to {@code exp} and {@code nbf}. */
+    @Builder.Default
+    private Duration clockSkew = Duration.ofSeconds(30);
+
+    /** Claim mapped to {@code IntrospectionResponse.partyId}. */
+    @Builder.Default
+    private String partyIdClaim = "partyId";
+
+    /** Claim mapped to {@code IntrospectionResponse.userRole}. */
+    @Builder.Default
+    private String userRoleClaim = "userRole";
+
+    /** Age after which the key set is refreshed in the background. */
+    @Builder.Default
+    private Duration jwksRefreshInterval = Duration.ofMinutes(10);
+
+    /** Minimum delay between key set refreshes, including those triggered by an unknown key id. */
+    @Builder.Default
+    private Duration jwksMinRefreshInterval = Duration.ofSeconds(30);
+}
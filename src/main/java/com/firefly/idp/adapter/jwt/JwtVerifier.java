@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.idp.dtos.IntrospectionResponse;
+import com.firefly.idp.dtos.enums.UserRoleEnum;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Verifies self-contained JWT access tokens locally and maps them to {@link IntrospectionResponse}.
+ *
+ * The signature is checked against the {@link JwksKeyCache}, with a key whose JWK type, curve and
+ * {@code alg} match the token's {@code alg} header, followed by {@code exp}, {@code nbf}, {@code iss}
+ * and {@code aud}. Tokens that fail any check yield an inactive response, as a remote RFC 7662
+ * endpoint would. Accepted issuers and audiences are required, so a missing setting cannot turn
+ * into accepting tokens minted for another party.
+ */
+public class JwtVerifier {
+
+    private static final IntrospectionResponse INACTIVE = IntrospectionResponse.builder().active(false).build();
+
+    private final JwksKeyCache keys;
+    private final JwtVerificationProperties properties;
+    private final ObjectMapper mapper;
+    private final Clock clock;
+
+    public JwtVerifier(JwksKeyCache keys, JwtVerificationProperties properties, ObjectMapper mapper, Clock clock) {
+        this.keys = Objects.requireNonNull(keys, "keys");
+        this.properties = Objects.requireNonNull(properties, "properties");
+        if (properties.getIssuers() == null || properties.getIssuers().isEmpty()) {
+            throw new IllegalArgumentException("At least one accepted issuer is required");
+        }
+        if (properties.getAudiences() == null || properties.getAudiences().isEmpty()) {
+            throw new IllegalArgumentException("At least one accepted audience is required");
+        }
+        this.mapper = Objects.requireNonNull(mapper, "mapper");
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    /**
+     * Verify a token locally.
+     *
+     * @param token the access token
+     * @return a reactive publisher with the introspection result, or empty when the token cannot be
+     * verified locally (not a JWT, or signed with a key the JWKS does not publish)
+     */
+    public Mono<IntrospectionResponse> verify(String token) {
+        SignedJwt jwt = SignedJwt.parse(token, mapper);
+        if (jwt == null) {
+            return Mono.empty();
+        }
+        return keys.jwk(jwt.getKeyId())
+                .map(jwk -> jwk.accepts(jwt.getAlgorithm()) && jwt.verify(jwk.key()) ? validate(jwt) : INACTIVE);
+    }
+
+    private IntrospectionResponse validate(SignedJwt jwt) {
+        long now = clock.millis() / 1000L;
+        long skew = properties.getClockSkew().toSeconds();
+        Long exp = jwt.longClaim("exp");
+        Long nbf = jwt.longClaim("nbf");
+        if (exp == null || exp + skew <= now || (nbf != null && nbf - skew > now)) {
+            return INACTIVE;
+        }
+        String issuer = jwt.stringClaim("iss");
+        if (!properties.getIssuers().contains(issuer)) {
+            return INACTIVE;
+        }
+        List<String> audience = jwt.stringListClaim("aud");
+        if (audience == null || audience.stream().noneMatch(properties.getAudiences()::contains)) {
+            return INACTIVE;
+        }
+        return IntrospectionResponse.builder()
+                .active(true)
+                .scope(scope(jwt))
+                .username(firstNonNull(jwt.stringClaim("preferred_username"), jwt.stringClaim("username")))
+                .exp(exp)
+                .iat(jwt.longClaim("iat"))
+                .sub(jwt.stringClaim("sub"))
+                .aud(audience)
+                .iss(issuer)
+                .jti(jwt.stringClaim("jti"))
+                .partyId(partyId(jwt.stringClaim(properties.getPartyIdClaim())))
+                .userRole(userRole(jwt.stringClaim(properties.getUserRoleClaim())))
+                .build();
+    }
+
+    private static String scope(SignedJwt jwt) {
+        String scope = jwt.stringClaim("scope");
+        if (scope != null) {
+            return scope;
+        }
+        List<String> scp = jwt.stringListClaim("scp");
+        return scp == null ? null : String.join(" ", scp);
+    }
+
+    private static UUID partyId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static UserRoleEnum userRole(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UserRoleEnum.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String firstNonNull(String first, String second) {
+        return first != null ? first : second;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * A JWS in compact serialization, split into its header, claims and signature.
+ *
+ * Parsing never verifies anything; call {@link #verify(PublicKey)} before trusting the claims.
+ */
+public final class SignedJwt {
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final String algorithm;
+    private final String keyId;
+    private final JsonNode claims;
+    private final byte[] signingInput;
+    private final byte[] signature;
+
+    private SignedJwt(String algorithm, String keyId, JsonNode claims, byte[] signingInput, byte[] signature) {
+        this.algorithm = algorithm;
+        this.keyId = keyId;
+        this.claims = claims;
+        this.signingInput = signingInput;
+        this.signature = signature;
+    }
+
+    /**
+     * Parse a token in JWS compact serialization.
+     *
+     * @param token  the raw token
+     * @param mapper mapper used to read the header and claims
+     * @return the parsed token, or null when the token is not a JWT (e.g. an opaque token)
+     */
+    public static SignedJwt parse(String token, ObjectMapper mapper) {
+        if (token == null) {
+            return null;
+        }
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0 || token.indexOf('.', second + 1) >= 0) {
+            return null;
+        }
+        try {
+            JsonNode header = mapper.readTree(DECODER.decode(token.substring(0, first)));
+            JsonNode claims = mapper.readTree(DECODER.decode(token.substring(first + 1, second)));
+            if (header == null || !header.isObject() || claims == null || !claims.isObject()) {
+                return null;
+            }
+            return new SignedJwt(
+                    header.path("alg").asText(null),
+                    header.path("kid").asText(null),
+                    claims,
+                    token.substring(0, second).getBytes(StandardCharsets.US_ASCII),
+                    DECODER.decode(token.substring(second + 1)));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the {@code alg} header, or null when absent
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return the {@code kid} header, or null when absent
+     */
+    public String getKeyId() {
+        return keyId;
+    }
+
+    /**
+     * @return the unverified claims set
+     */
+    public JsonNode getClaims() {
+        return claims;
+    }
+
+    /**
+     * @param name claim name
+     * @return the claim as text, or null when absent
+     */
+    public String stringClaim(String name) {
+        JsonNode node = claims.get(name);
+        return node == null || node.isNull() || node.isContainerNode() ? null : node.asText();
+    }
+
+    /**
+     * @param name claim name
+     * @return the claim as a number, or null when absent or not numeric
+     */
+    public Long longClaim(String name) {
+        JsonNode node = claims.get(name);
+        return node != null && node.isNumber() ? node.asLong() : null;
+    }
+
+    /**
+     * @param name claim name
+     * @return the claim as a list, accepting both a single string and an array of strings
+     */
+    public List<String> stringListClaim(String name) {
+        JsonNode node = claims.get(name);
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (!node.isArray()) {
+            return List.of(node.asText());
+        }
+        List<String> values = new ArrayList<>(node.size());
+        node.forEach(value -> values.add(value.asText()));
+        return values;
+    }
+
+    /**
+     * Verify the signature with the given key.
+     *
+     * Supports RS256/384/512, PS256/384/512 and ES256/384/512. Any other algorithm, including
+     * {@code none}, fails verification.
+     *
+     * @param key the issuer's public key
+     * @return true when the signature is valid for this key
+     */
+    public boolean verify(PublicKey key) {
+        if (algorithm == null || algorithm.length() != 5) {
+            return false;
+        }
+        String bits = algorithm.substring(2);
+        if (!bits.equals("256") && !bits.equals("384") && !bits.equals("512")) {
+            return false;
+        }
+        try {
+            Signature verifier;
+            switch (algorithm.substring(0, 2)) {
+                case "RS" -> verifier = Signature.getInstance("SHA" + bits + "withRSA");
+                case "ES" -> verifier = Signature.getInstance("SHA" + bits + "withECDSAinP1363Format");
+                case "PS" -> {
+                    verifier = Signature.getInstance("RSASSA-PSS");
+                    String digest = "SHA-" + bits;
+                    verifier.setParameter(new PSSParameterSpec(digest, "MGF1",
+                            new MGF1ParameterSpec(digest), Integer.parseInt(bits) / 8, 1));
+                }
+                default -> {
+                    return false;
+                }
+            }
+            verifier.initVerify(key);
+            verifier.update(signingInput);
+            return verifier.verify(signature);
+        } catch (GeneralSecurityException e) {
+            return false;
+        }
+    }
+}
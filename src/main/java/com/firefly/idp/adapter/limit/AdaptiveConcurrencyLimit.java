@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.limit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Additive-increase/multiplicative-decrease concurrency limit.
+ *
+ * A call that finishes under the latency threshold while the limit was at least half used grows
+ * the limit by {@code 1/limit}, about one slot per round of calls. A slow call, a 429/5xx or a
+ * transport error multiplies it by the backoff ratio, once per congestion event: calls started
+ * before the last decrease cannot decrease it again, so a burst of failures backs off once rather
+ * than once per call. Acquisition is a single CAS on the in-flight count and never waits.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicLong limitBits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong decreases = new AtomicLong();
+
+    public AdaptiveConcurrencyLimit(BulkheadProperties properties) {
+        this.minLimit = Math.max(1, properties.getMinLimit());
+        this.maxLimit = Math.max(minLimit, properties.getMaxLimit());
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.backoffRatio = properties.getBackoffRatio();
+        int initial = Math.min(maxLimit, Math.max(minLimit, properties.getInitialLimit()));
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(initial));
+    }
+
+    /**
+     * @return a permit to release when the call ends, or {@code null} if the limit is reached
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.incrementAndGet();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private void increase(int inFlightAtStart) {
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            if (limit >= maxLimit || inFlightAtStart * 2 < limit) {
+                return;
+            }
+            double next = Math.min(maxLimit, limit + 1 / limit);
+            if (limitBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private void decrease(long decreasesAtStart) {
+        if (!decreases.compareAndSet(decreasesAtStart, decreasesAtStart + 1)) {
+            return;
+        }
+        while (true) {
+            long bits = limitBits.get();
+            double next = Math.max(minLimit, Double.longBitsToDouble(bits) * backoffRatio);
+            if (limitBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Slot held by one call. Only the first completion signal counts.
+     */
+    public final class Permit extends AtomicBoolean {
+
+        private final int inFlightAtStart;
+        private final long startedAt = System.nanoTime();
+        private final long decreasesAtStart = decreases.get();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /** The call completed; {@code overloaded} marks a 429/5xx answer. */
+        public void completed(boolean overloaded) {
+            if (release()) {
+                if (overloaded || System.nanoTime() - startedAt > latencyThresholdNanos) {
+                    decrease(decreasesAtStart);
+                } else {
+                    increase(inFlightAtStart);
+                }
+            }
+        }
+
+        /** The call failed with a signal of IdP trouble. */
+        public void dropped() {
+            if (release()) {
+                decrease(decreasesAtStart);
+            }
+        }
+
+        /** The call ended without telling anything about IdP health, e.g. on cancellation. */
+        public void ignored() {
+            release();
+        }
+
+        private boolean release() {
+            if (compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
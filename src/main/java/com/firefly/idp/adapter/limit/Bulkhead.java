@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.limit;
+
+import com.firefly.idp.adapter.IdpOperation;
+
+/**
+ * Isolation groups for {@link ConcurrencyLimitingIdpAdapter}. Each group has its own limit, so a
+ * burst of administrative calls cannot take capacity away from token handling.
+ */
+public enum Bulkhead {
+
+    /** Calls on the request path: login, refresh, logout, introspection, user info and MFA. */
+    TOKEN,
+
+    /** User, password, session, role and scope management. */
+    ADMIN;
+
+    public static Bulkhead of(IdpOperation operation) {
+        return switch (operation) {
+            case LOGIN, REFRESH, LOGOUT, INTROSPECT, GET_USER_INFO, REVOKE_REFRESH_TOKEN,
+                 MFA_CHALLENGE, MFA_VERIFY -> TOKEN;
+            default -> ADMIN;
+        };
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.limit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * AIMD settings for one {@link Bulkhead}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkheadProperties {
+
+    /** Concurrent calls allowed before any latency has been observed. */
+    @Builder.Default
+    private int initialLimit = 32;
+
+    /** Floor the limit never drops below, so the IdP is still probed while degraded. */
+    @Builder.Default
+    private int minLimit = 4;
+
+    /** Ceiling the limit never grows beyond. */
+    @Builder.Default
+    private int maxLimit = 256;
+
+    /** Calls slower than this count as an overload signal, as do 429 and 5xx responses. */
+    @Builder.Default
+    private Duration latencyThreshold = Duration.ofMillis(500);
+
+    /** Factor applied to the limit on each overload signal. */
+    @Builder.Default
+    private double backoffRatio = 0.9;
+}
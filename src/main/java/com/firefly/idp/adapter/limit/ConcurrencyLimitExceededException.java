@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.limit;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Raised without calling the IdP when a {@link Bulkhead} is at its concurrency limit.
+ */
+@Getter
+public class ConcurrencyLimitExceededException extends ResponseStatusException {
+
+    private final Bulkhead bulkhead;
+    private final int limit;
+
+    public ConcurrencyLimitExceededException(Bulkhead bulkhead, int limit) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "IdP " + bulkhead.name().toLowerCase()
+                + " concurrency limit of " + limit + " reached");
+        this.bulkhead = bulkhead;
+        this.limit = limit;
+    }
+}
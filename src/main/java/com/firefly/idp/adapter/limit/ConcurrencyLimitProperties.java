@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.limit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link ConcurrencyLimitingIdpAdapter}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConcurrencyLimitProperties {
+
+    /** Limit for request-path calls. */
+    @Builder.Default
+    private BulkheadProperties token = BulkheadProperties.builder()
+            .initialLimit(64)
+            .minLimit(8)
+            .maxLimit(512)
+            .latencyThreshold(Duration.ofMillis(500))
+            .build();
+
+    /** Limit for administrative calls. */
+    @Builder.Default
+    private BulkheadProperties admin = BulkheadProperties.builder()
+            .initialLimit(8)
+            .minLimit(1)
+            .maxLimit(32)
+            .latencyThreshold(Duration.ofSeconds(2))
+            .build();
+
+    public BulkheadProperties get(Bulkhead bulkhead) {
+        return bulkhead == Bulkhead.TOKEN ? token : admin;
+    }
+}
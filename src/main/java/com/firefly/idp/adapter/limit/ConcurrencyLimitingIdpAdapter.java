@@ -0,0 +1,194 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.limit;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.IdpOperation;
+import com.firefly.idp.adapter.support.HttpStatuses;
+import com.firefly.idp.dtos.*;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * {@link IdpAdapter} decorator that bounds in-flight calls with an adaptive limit per {@link Bulkhead}.
+ *
+ * When a bulkhead is full the call fails immediately with {@link ConcurrencyLimitExceededException}
+ * (503) instead of queueing, so a degraded IdP sees less load rather than a growing backlog. Limits
+ * adapt to observed latency and to 429/5xx answers; 4xx answers such as bad credentials count as
+ * healthy responses.
+ */
+public class ConcurrencyLimitingIdpAdapter extends ForwardingIdpAdapter {
+
+    private final Map<Bulkhead, AdaptiveConcurrencyLimit> limits = new EnumMap<>(Bulkhead.class);
+
+    public ConcurrencyLimitingIdpAdapter(IdpAdapter delegate) {
+        this(delegate, ConcurrencyLimitProperties.builder().build());
+    }
+
+    public ConcurrencyLimitingIdpAdapter(IdpAdapter delegate, ConcurrencyLimitProperties properties) {
+        super(delegate);
+        for (Bulkhead bulkhead : Bulkhead.values()) {
+            limits.put(bulkhead, new AdaptiveConcurrencyLimit(properties.get(bulkhead)));
+        }
+    }
+
+    /**
+     * @return the live limit of a bulkhead, for gauges and diagnostics
+     */
+    public AdaptiveConcurrencyLimit limit(Bulkhead bulkhead) {
+        return limits.get(bulkhead);
+    }
+
+    @Override
+    public Mono<ResponseEntity<TokenResponse>> login(LoginRequest request) {
+        return limited(IdpOperation.LOGIN, () -> super.login(request));
+    }
+
+    @Override
+    public Mono<ResponseEntity<TokenResponse>> refresh(RefreshRequest request) {
+        return limited(IdpOperation.REFRESH, () -> super.refresh(request));
+    }
+
+    @Override
+    public Mono<Void> logout(LogoutRequest request) {
+        return limited(IdpOperation.LOGOUT, () -> super.logout(request));
+    }
+
+    @Override
+    public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+        return limited(IdpOperation.INTROSPECT, () -> super.introspect(accessToken));
+    }
+
+    @Override
+    public Mono<ResponseEntity<UserInfoResponse>> getUserInfo(String accessToken) {
+        return limited(IdpOperation.GET_USER_INFO, () -> super.getUserInfo(accessToken));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateUserResponse>> createUser(CreateUserRequest request) {
+        return limited(IdpOperation.CREATE_USER, () -> super.createUser(request));
+    }
+
+    @Override
+    public Mono<Void> changePassword(ChangePasswordRequest request) {
+        return limited(IdpOperation.CHANGE_PASSWORD, () -> super.changePassword(request));
+    }
+
+    @Override
+    public Mono<Void> resetPassword(String username) {
+        return limited(IdpOperation.RESET_PASSWORD, () -> super.resetPassword(username));
+    }
+
+    @Override
+    public Mono<ResponseEntity<MfaChallengeResponse>> mfaChallenge(String username) {
+        return limited(IdpOperation.MFA_CHALLENGE, () -> super.mfaChallenge(username));
+    }
+
+    @Override
+    public Mono<Void> mfaVerify(MfaVerifyRequest request) {
+        return limited(IdpOperation.MFA_VERIFY, () -> super.mfaVerify(request));
+    }
+
+    @Override
+    public Mono<Void> revokeRefreshToken(String refreshToken) {
+        return limited(IdpOperation.REVOKE_REFRESH_TOKEN, () -> super.revokeRefreshToken(refreshToken));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<SessionInfo>>> listSessions(String userId) {
+        return limited(IdpOperation.LIST_SESSIONS, () -> super.listSessions(userId));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<SessionInfo>>> listSessions(String userId, int offset, int limit) {
+        return limited(IdpOperation.LIST_SESSIONS, () -> super.listSessions(userId, offset, limit));
+    }
+
+    @Override
+    public Mono<Void> revokeSession(String sessionId) {
+        return limited(IdpOperation.REVOKE_SESSION, () -> super.revokeSession(sessionId));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<String>>> getRoles(String userId) {
+        return limited(IdpOperation.GET_ROLES, () -> super.getRoles(userId));
+    }
+
+    @Override
+    public Mono<Void> deleteUser(String userId) {
+        return limited(IdpOperation.DELETE_USER, () -> super.deleteUser(userId));
+    }
+
+    @Override
+    public Mono<ResponseEntity<UpdateUserResponse>> updateUser(UpdateUserRequest request) {
+        return limited(IdpOperation.UPDATE_USER, () -> super.updateUser(request));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateRolesResponse>> createRoles(CreateRolesRequest request) {
+        return limited(IdpOperation.CREATE_ROLES, () -> super.createRoles(request));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateScopeResponse>> createScope(CreateScopeRequest request) {
+        return limited(IdpOperation.CREATE_SCOPE, () -> super.createScope(request));
+    }
+
+    @Override
+    public Mono<Void> assignRolesToUser(AssignRolesRequest request) {
+        return limited(IdpOperation.ASSIGN_ROLES_TO_USER, () -> super.assignRolesToUser(request));
+    }
+
+    @Override
+    public Mono<Void> removeRolesFromUser(AssignRolesRequest request) {
+        return limited(IdpOperation.REMOVE_ROLES_FROM_USER, () -> super.removeRolesFromUser(request));
+    }
+
+    private <T> Mono<T> limited(IdpOperation operation, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            Bulkhead bulkhead = Bulkhead.of(operation);
+            AdaptiveConcurrencyLimit limit = limits.get(bulkhead);
+            AdaptiveConcurrencyLimit.Permit permit = limit.tryAcquire();
+            if (permit == null) {
+                return Mono.error(new ConcurrencyLimitExceededException(bulkhead, limit.getLimit()));
+            }
+            return Mono.defer(call)
+                    .doOnSuccess(value -> permit.completed(value instanceof ResponseEntity<?> response
+                            && isOverload(response.getStatusCode().value())))
+                    .doOnError(error -> {
+                        int status = HttpStatuses.statusOf(error);
+                        if (status == HttpStatuses.UNKNOWN || isOverload(status)) {
+                            permit.dropped();
+                        } else {
+                            permit.completed(false);
+                        }
+                    })
+                    .doOnCancel(permit::ignored);
+        });
+    }
+
+    private static boolean isOverload(int status) {
+        return status == 429 || status >= 500;
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.metrics;
+
+/**
+ * How an instrumented call ended.
+ */
+public enum CallOutcome {
+    /** Completed with a non-error status, or without a {@code ResponseEntity}. */
+    SUCCESS,
+    /** Completed with a 4xx/5xx {@code ResponseEntity} or failed with an error. */
+    ERROR,
+    /** The subscriber cancelled before completion. */
+    CANCELLED
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.metrics;
+
+import com.firefly.idp.adapter.IdpOperation;
+
+import java.util.List;
+
+/**
+ * SPI receiving per-call measurements from {@link InstrumentedIdpAdapter}.
+ *
+ * Implement it to bridge to a metrics backend (Micrometer, OpenTelemetry, ...) without this
+ * library depending on one. Methods are called on the request path and must be cheap and
+ * non-blocking.
+ */
+public interface IdpMetricsRecorder {
+
+    /**
+     * A call has been subscribed to and is now in flight.
+     *
+     * @param operation the adapter operation
+     */
+    void callStarted(IdpOperation operation);
+
+    /**
+     * A call has finished.
+     *
+     * @param operation    the adapter operation
+     * @param outcome      how the call ended
+     * @param httpStatus   status of the {@code ResponseEntity} or error, or 0 when none is available
+     * @param latencyNanos time from subscription to completion
+     */
+    void callFinished(IdpOperation operation, CallOutcome outcome, int httpStatus, long latencyNanos);
+
+    /**
+     * @param recorders recorders to notify, in order
+     * @return a recorder forwarding every event to all given recorders
+     */
+    static IdpMetricsRecorder composite(IdpMetricsRecorder... recorders) {
+        List<IdpMetricsRecorder> targets = List.of(recorders);
+        return new IdpMetricsRecorder() {
+            @Override
+            public void callStarted(IdpOperation operation) {
+                for (IdpMetricsRecorder target : targets) {
+                    target.callStarted(operation);
+                }
+            }
+
+            @Override
+            public void callFinished(IdpOperation operation, CallOutcome outcome, int httpStatus, long latencyNanos) {
+                for (IdpMetricsRecorder target : targets) {
+                    target.callFinished(operation, outcome, httpStatus, latencyNanos);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.metrics;
+
+import com.firefly.idp.adapter.IdpOperation;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * {@link IdpMetricsRecorder} that aggregates measurements in memory, per operation.
+ *
+ * Useful on its own for health endpoints and tests, or as the source a metrics bridge polls.
+ */
+public class InMemoryIdpMetrics implements IdpMetricsRecorder {
+
+    private final OperationMetrics[] operations = new OperationMetrics[IdpOperation.values().length];
+
+    public InMemoryIdpMetrics() {
+        for (int i = 0; i < operations.length; i++) {
+            operations[i] = new OperationMetrics();
+        }
+    }
+
+    @Override
+    public void callStarted(IdpOperation operation) {
+        operations[operation.ordinal()].started();
+    }
+
+    @Override
+    public void callFinished(IdpOperation operation, CallOutcome outcome, int httpStatus, long latencyNanos) {
+        operations[operation.ordinal()].finished(outcome, httpStatus, latencyNanos);
+    }
+
+    /**
+     * @param operation the adapter operation
+     * @return the live metrics of that operation
+     */
+    public OperationMetrics get(IdpOperation operation) {
+        return operations[operation.ordinal()];
+    }
+
+    /**
+     * @return the live metrics of every operation
+     */
+    public Map<IdpOperation, OperationMetrics> all() {
+        Map<IdpOperation, OperationMetrics> all = new EnumMap<>(IdpOperation.class);
+        for (IdpOperation operation : IdpOperation.values()) {
+            all.put(operation, get(operation));
+        }
+        return all;
+    }
+}
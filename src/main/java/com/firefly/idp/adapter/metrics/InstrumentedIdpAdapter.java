@@ -0,0 +1,198 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.metrics;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.IdpOperation;
+import com.firefly.idp.adapter.support.HttpStatuses;
+import com.firefly.idp.dtos.*;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * {@link IdpAdapter} decorator that measures every operation.
+ *
+ * For each call it reports the start (in-flight gauge), the outcome, the HTTP status taken from
+ * the {@code ResponseEntity} or the error, and the latency from subscription to completion to an
+ * {@link IdpMetricsRecorder}. Placed directly around the provider adapter it measures the IdP;
+ * placed outermost it measures what callers experience, including caches and limits.
+ */
+public class InstrumentedIdpAdapter extends ForwardingIdpAdapter {
+
+    private final IdpMetricsRecorder recorder;
+
+    public InstrumentedIdpAdapter(IdpAdapter delegate, IdpMetricsRecorder recorder) {
+        super(delegate);
+        this.recorder = Objects.requireNonNull(recorder, "recorder");
+    }
+
+    @Override
+    public Mono<ResponseEntity<TokenResponse>> login(LoginRequest request) {
+        return instrument(IdpOperation.LOGIN, () -> super.login(request));
+    }
+
+    @Override
+    public Mono<ResponseEntity<TokenResponse>> refresh(RefreshRequest request) {
+        return instrument(IdpOperation.REFRESH, () -> super.refresh(request));
+    }
+
+    @Override
+    public Mono<Void> logout(LogoutRequest request) {
+        return instrument(IdpOperation.LOGOUT, () -> super.logout(request));
+    }
+
+    @Override
+    public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+        return instrument(IdpOperation.INTROSPECT, () -> super.introspect(accessToken));
+    }
+
+    @Override
+    public Mono<ResponseEntity<UserInfoResponse>> getUserInfo(String accessToken) {
+        return instrument(IdpOperation.GET_USER_INFO, () -> super.getUserInfo(accessToken));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateUserResponse>> createUser(CreateUserRequest request) {
+        return instrument(IdpOperation.CREATE_USER, () -> super.createUser(request));
+    }
+
+    @Override
+    public Mono<Void> changePassword(ChangePasswordRequest request) {
+        return instrument(IdpOperation.CHANGE_PASSWORD, () -> super.changePassword(request));
+    }
+
+    @Override
+    public Mono<Void> resetPassword(String username) {
+        return instrument(IdpOperation.RESET_PASSWORD, () -> super.resetPassword(username));
+    }
+
+    @Override
+    public Mono<ResponseEntity<MfaChallengeResponse>> mfaChallenge(String username) {
+        return instrument(IdpOperation.MFA_CHALLENGE, () -> super.mfaChallenge(username));
+    }
+
+    @Override
+    public Mono<Void> mfaVerify(MfaVerifyRequest request) {
+        return instrument(IdpOperation.MFA_VERIFY, () -> super.mfaVerify(request));
+    }
+
+    @Override
+    public Mono<Void> revokeRefreshToken(String refreshToken) {
+        return instrument(IdpOperation.REVOKE_REFRESH_TOKEN, () -> super.revokeRefreshToken(refreshToken));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<SessionInfo>>> listSessions(String userId) {
+        return instrument(IdpOperation.LIST_SESSIONS, () -> super.listSessions(userId));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<SessionInfo>>> listSessions(String userId, int offset, int limit) {
+        return instrument(IdpOperation.LIST_SESSIONS, () -> super.listSessions(userId, offset, limit));
+    }
+
+    @Override
+    public Mono<Void> revokeSession(String sessionId) {
+        return instrument(IdpOperation.REVOKE_SESSION, () -> super.revokeSession(sessionId));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<String>>> getRoles(String userId) {
+        return instrument(IdpOperation.GET_ROLES, () -> super.getRoles(userId));
+    }
+
+    @Override
+    public Mono<Void> deleteUser(String userId) {
+        return instrument(IdpOperation.DELETE_USER, () -> super.deleteUser(userId));
+    }
+
+    @Override
+    public Mono<ResponseEntity<UpdateUserResponse>> updateUser(UpdateUserRequest request) {
+        return instrument(IdpOperation.UPDATE_USER, () -> super.updateUser(request));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateRolesResponse>> createRoles(CreateRolesRequest request) {
+        return instrument(IdpOperation.CREATE_ROLES, () -> super.createRoles(request));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateScopeResponse>> createScope(CreateScopeRequest request) {
+        return instrument(IdpOperation.CREATE_SCOPE, () -> super.createScope(request));
+    }
+
+    @Override
+    public Mono<Void> assignRolesToUser(AssignRolesRequest request) {
+        return instrument(IdpOperation.ASSIGN_ROLES_TO_USER, () -> super.assignRolesToUser(request));
+    }
+
+    @Override
+    public Mono<Void> removeRolesFromUser(AssignRolesRequest request) {
+        return instrument(IdpOperation.REMOVE_ROLES_FROM_USER, () -> super.removeRolesFromUser(request));
+    }
+
+    private <T> Mono<T> instrument(IdpOperation operation, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            Call tracker = new Call(operation);
+            return Mono.defer(call)
+                    .doOnSuccess(tracker::succeeded)
+                    .doOnError(tracker::failed)
+                    .doOnCancel(tracker::cancelled);
+        });
+    }
+
+    private final class Call extends AtomicBoolean {
+        private final IdpOperation operation;
+        private final long startedAt;
+
+        Call(IdpOperation operation) {
+            this.operation = operation;
+            recorder.callStarted(operation);
+            this.startedAt = System.nanoTime();
+        }
+
+        void succeeded(Object value) {
+            if (value instanceof ResponseEntity<?> response) {
+                int status = response.getStatusCode().value();
+                finish(status >= 400 ? CallOutcome.ERROR : CallOutcome.SUCCESS, status);
+            } else {
+                finish(CallOutcome.SUCCESS, HttpStatuses.UNKNOWN);
+            }
+        }
+
+        void failed(Throwable error) {
+            finish(CallOutcome.ERROR, HttpStatuses.statusOf(error));
+        }
+
+        void cancelled() {
+            finish(CallOutcome.CANCELLED, HttpStatuses.UNKNOWN);
+        }
+
+        private void finish(CallOutcome outcome, int status) {
+            if (compareAndSet(false, true)) {
+                recorder.callFinished(operation, outcome, status, System.nanoTime() - startedAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters, in-flight gauge and latency histogram of one adapter operation.
+ */
+public final class OperationMetrics {
+
+    private static final int MAX_STATUS = 600;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder cancellations = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final AtomicLongArray statuses = new AtomicLongArray(MAX_STATUS);
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    void started() {
+        inFlight.increment();
+    }
+
+    void finished(CallOutcome outcome, int httpStatus, long latencyNanos) {
+        inFlight.decrement();
+        calls.increment();
+        if (outcome == CallOutcome.ERROR) {
+            errors.increment();
+        } else if (outcome == CallOutcome.CANCELLED) {
+            cancellations.increment();
+        }
+        statuses.incrementAndGet(httpStatus > 0 && httpStatus < MAX_STATUS ? httpStatus : 0);
+        latency.record(latencyNanos);
+    }
+
+    /**
+     * @return the number of finished calls
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * @return the number of calls that ended with an error status or exception
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return the number of calls cancelled by their subscriber
+     */
+    public long getCancellations() {
+        return cancellations.sum();
+    }
+
+    /**
+     * @return the number of calls currently in flight
+     */
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    /**
+     * @param httpStatus an HTTP status, or 0 for calls without one
+     * @return the number of finished calls that reported this status
+     */
+    public long getStatusCount(int httpStatus) {
+        return httpStatus >= 0 && httpStatus < MAX_STATUS ? statuses.get(httpStatus) : 0;
+    }
+
+    /**
+     * @return the latency distribution of finished calls, in nanoseconds
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+}
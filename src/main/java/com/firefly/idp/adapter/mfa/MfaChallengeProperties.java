@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.mfa;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link MfaChallengeRegistry}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MfaChallengeProperties {
+
+    /** Verify attempts allowed per challenge before it is discarded. */
+    @Builder.Default
+    private int maxVerifyAttempts = 5;
+
+    /** Lifetime assumed for challenges whose response carries no {@code expiresAt}. */
+    @Builder.Default
+    private Duration defaultTtl = Duration.ofMinutes(5);
+
+    /**
+     * How long an expired challenge is remembered, so verifications of it are still refused
+     * locally instead of reaching the IdP.
+     */
+    @Builder.Default
+    private Duration expiredRetention = Duration.ofMinutes(5);
+
+    /**
+     * Challenges tracked, including expired ones still remembered; further challenges are not
+     * tracked and verify as unknown.
+     */
+    @Builder.Default
+    private int maxChallenges = 1_000_000;
+
+    /** Resolution of the expiry timer. */
+    @Builder.Default
+    private Duration tick = Duration.ofMillis(100);
+
+    /** Buckets per timer wheel level; must be a power of two. */
+    @Builder.Default
+    private int wheelSize = 512;
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.mfa;
+
+import com.firefly.idp.adapter.support.TimingWheel;
+import com.firefly.idp.adapter.support.WheelTimer;
+import com.firefly.idp.dtos.MfaChallengeResponse;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local record of outstanding MFA challenges.
+ *
+ * Every issued challenge is kept until it expires or is completed; one that runs out of attempts
+ * stays locked until it expires. An expired challenge is remembered for {@code expiredRetention}
+ * more, so verifying it is still refused locally. Removal is driven by a {@link WheelTimer}, so
+ * scheduling and cancelling it is O(1) however many challenges are tracked. Challenges are only known
+ * to the node that issued them: a challenge issued by another node, before a restart or while the
+ * registry was full is untracked, and only the IdP can judge it.
+ */
+public class MfaChallengeRegistry implements AutoCloseable {
+
+    /**
+     * Outcome of {@link #beginVerify(String)}.
+     */
+    public enum Verdict {
+        /** The challenge is outstanding; the attempt was counted. */
+        ACCEPTED,
+        /** The challenge is not tracked here; the attempt is left to the IdP. */
+        UNTRACKED,
+        /** The challenge has expired. */
+        EXPIRED,
+        /** The challenge has used up its attempts and stays locked until it expires. */
+        TOO_MANY_ATTEMPTS
+    }
+
+    private final MfaChallengeProperties properties;
+    private final WheelTimer timer;
+    private final boolean ownsTimer;
+    private final Clock clock;
+    private final Map<String, Challenge> challenges = new ConcurrentHashMap<>();
+
+    public MfaChallengeRegistry(MfaChallengeProperties properties) {
+        this(properties, new WheelTimer(properties.getTick(), properties.getWheelSize(),
+                Clock.systemUTC(), Schedulers.parallel()), true);
+    }
+
+    /**
+     * Create a registry on a shared timer; closing the registry leaves the timer running.
+     */
+    public MfaChallengeRegistry(MfaChallengeProperties properties, WheelTimer timer) {
+        this(properties, timer, false);
+    }
+
+    private MfaChallengeRegistry(MfaChallengeProperties properties, WheelTimer timer, boolean ownsTimer) {
+        this.properties = Objects.requireNonNull(properties, "properties");
+        this.timer = Objects.requireNonNull(timer, "timer");
+        this.ownsTimer = ownsTimer;
+        this.clock = timer.clock();
+    }
+
+    /**
+     * Track a challenge issued by the IdP.
+     *
+     * @return whether the challenge is tracked; false when it has no id or the registry is full
+     */
+    public boolean register(MfaChallengeResponse response) {
+        String id = response.getChallengeId();
+        if (id == null || challenges.size() >= properties.getMaxChallenges()) {
+            return false;
+        }
+        long expiresAt = response.getExpiresAt() != null
+                ? response.getExpiresAt().toEpochMilli()
+                : clock.millis() + properties.getDefaultTtl().toMillis();
+        Challenge challenge = new Challenge(expiresAt);
+        Challenge previous = challenges.put(id, challenge);
+        if (previous != null) {
+            previous.cancel();
+        }
+        challenge.timeout = timer.schedule(() -> challenges.remove(id, challenge),
+                expiresAt + properties.getExpiredRetention().toMillis());
+        return true;
+    }
+
+    /**
+     * Count a verify attempt against a challenge.
+     */
+    public Verdict beginVerify(String challengeId) {
+        Challenge challenge = challengeId == null ? null : challenges.get(challengeId);
+        if (challenge == null) {
+            return Verdict.UNTRACKED;
+        }
+        if (challenge.expiresAt <= clock.millis()) {
+            return Verdict.EXPIRED;
+        }
+        if (challenge.attempts.incrementAndGet() > properties.getMaxVerifyAttempts()) {
+            return Verdict.TOO_MANY_ATTEMPTS;
+        }
+        return Verdict.ACCEPTED;
+    }
+
+    /**
+     * Forget a challenge, e.g. once verified or rejected for good by the IdP.
+     */
+    public void complete(String challengeId) {
+        Challenge challenge = challengeId == null ? null : challenges.get(challengeId);
+        if (challenge != null) {
+            discard(challengeId, challenge);
+        }
+    }
+
+    /**
+     * @return the number of tracked challenges, including expired ones still remembered
+     */
+    public int size() {
+        return challenges.size();
+    }
+
+    @Override
+    public void close() {
+        challenges.values().forEach(Challenge::cancel);
+        challenges.clear();
+        if (ownsTimer) {
+            timer.close();
+        }
+    }
+
+    private void discard(String challengeId, Challenge challenge) {
+        if (challenges.remove(challengeId, challenge)) {
+            challenge.cancel();
+        }
+    }
+
+    private static final class Challenge {
+        private final long expiresAt;
+        private final AtomicInteger attempts = new AtomicInteger();
+        private volatile TimingWheel.Timeout<Runnable> timeout;
+
+        Challenge(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        void cancel() {
+            TimingWheel.Timeout<Runnable> current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.mfa;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.support.HttpStatuses;
+import com.firefly.idp.dtos.MfaChallengeResponse;
+import com.firefly.idp.dtos.MfaVerifyRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link IdpAdapter} decorator that screens {@code mfaVerify} against a {@link MfaChallengeRegistry}.
+ *
+ * Challenges returned by {@code mfaChallenge} are registered. A verification of a tracked challenge
+ * that has expired, or expired within the registry's retention, fails with 401 like a wrong code,
+ * and one beyond the attempt limit with 429, both without calling the IdP. Verifications of
+ * challenges this node has never seen are passed to the IdP, which remains the authority on them. A challenge is forgotten once verified or once the
+ * IdP rejects it for good (a 4xx other than 401 and 429); wrong codes and IdP failures keep it for
+ * further attempts.
+ */
+public class MfaGuardingIdpAdapter extends ForwardingIdpAdapter {
+
+    private final MfaChallengeRegistry registry;
+    private final LongAdder rejected = new LongAdder();
+
+    public MfaGuardingIdpAdapter(IdpAdapter delegate, MfaChallengeRegistry registry) {
+        super(delegate);
+        this.registry = Objects.requireNonNull(registry, "registry");
+    }
+
+    @Override
+    public Mono<ResponseEntity<MfaChallengeResponse>> mfaChallenge(String username) {
+        return super.mfaChallenge(username).doOnNext(response -> {
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                registry.register(response.getBody());
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> mfaVerify(MfaVerifyRequest request) {
+        return Mono.defer(() -> {
+            String challengeId = request.getChallengeId();
+            switch (registry.beginVerify(challengeId)) {
+                case EXPIRED -> {
+                    rejected.increment();
+                    return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "MFA verification failed"));
+                }
+                case TOO_MANY_ATTEMPTS -> {
+                    rejected.increment();
+                    return Mono.error(new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                            "Too many MFA verification attempts"));
+                }
+                default -> {
+                    return super.mfaVerify(request)
+                            .doOnSuccess(ignored -> registry.complete(challengeId))
+                            .doOnError(error -> {
+                                int status = HttpStatuses.statusOf(error);
+                                if (status >= 400 && status < 500 && status != 401 && status != 429) {
+                                    registry.complete(challengeId);
+                                }
+                            });
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the number of verifications rejected locally
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.provisioning;
+
+import com.firefly.idp.dtos.CreateUserRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Settings for {@link BulkUserProvisioner}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProvisioningOptions {
+
+    /** Maximum number of records processed concurrently. */
+    @Builder.Default
+    private int concurrency = 8;
+
+    /** Upper bound on provider calls per second across the whole import. Zero disables pacing. */
+    @Builder.Default
+    private double maxCallsPerSecond = 50;
+
+    /** Number of processed records between progress reports. */
+    @Builder.Default
+    private int progressInterval = 500;
+
+    /** Receives progress snapshots; invoked from pipeline threads, so it must not block. */
+    @Builder.Default
+    private Consumer<ProvisioningProgress> progressListener = progress -> { };
+
+    /** Roles to assign to each created user. Defaults to the name of its {@code userRole}. */
+    @Builder.Default
+    private Function<CreateUserRequest, List<String>> rolesResolver =
+            request -> request.getUserRole() == null ? List.of() : List.of(request.getUserRole().name());
+
+    /**
+     * Finds the IdP id of an existing user by username, so a user answered with 409 but never
+     * checkpointed can still get its roles. Empty when unknown; by default nothing is looked up.
+     */
+    @Builder.Default
+    private Function<String, Mono<String>> userIdResolver = username -> Mono.empty();
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.provisioning;
+
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.support.HttpStatuses;
+import com.firefly.idp.adapter.support.RatePacer;
+import com.firefly.idp.dtos.AssignRolesRequest;
+import com.firefly.idp.dtos.CreateUserRequest;
+import com.firefly.idp.dtos.CreateUserResponse;
+import com.firefly.idp.adapter.provisioning.ProvisioningResult.Status;
+import com.firefly.idp.adapter.provisioning.ProvisioningResult.Step;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams user records through {@code createUser} and {@code assignRolesToUser}.
+ *
+ * Records are processed with bounded parallelism, and provider calls are paced to the configured
+ * rate. Each record yields its own {@link ProvisioningResult}; a failing record never stops the
+ * import. Progress is checkpointed per user, so re-running an interrupted import skips users that
+ * were completed and only assigns roles to users that were created but not finished. A user the IdP
+ * already has (409) but no checkpoint records, e.g. after a crash right after {@code createUser}, is
+ * resumed when the {@code userIdResolver} finds its id and reported as
+ * {@link Status#ALREADY_EXISTS} otherwise.
+ */
+public class BulkUserProvisioner {
+
+    private final IdpAdapter adapter;
+    private final BulkProvisioningOptions options;
+    private final ProvisioningCheckpointStore checkpoints;
+    private final RatePacer pacer;
+
+    public BulkUserProvisioner(IdpAdapter adapter, BulkProvisioningOptions options,
+                               ProvisioningCheckpointStore checkpoints) {
+        this.adapter = Objects.requireNonNull(adapter, "adapter");
+        this.options = Objects.requireNonNull(options, "options");
+        this.checkpoints = Objects.requireNonNull(checkpoints, "checkpoints");
+        this.pacer = new RatePacer(options.getMaxCallsPerSecond());
+    }
+
+    /**
+     * Provision a stream of users.
+     *
+     * @param requests the users to create; usernames identify records across runs
+     * @return a reactive stream with one result per record, in completion order
+     */
+    public Flux<ProvisioningResult> provision(Flux<CreateUserRequest> requests) {
+        return Flux.defer(() -> {
+            Progress progress = new Progress(System.nanoTime());
+            return requests
+                    .flatMap(this::provisionOne, Math.max(1, options.getConcurrency()))
+                    .doOnNext(progress::record)
+                    .doOnComplete(progress::report);
+        });
+    }
+
+    private Mono<ProvisioningResult> provisionOne(CreateUserRequest request) {
+        String username = request.getUsername();
+        if (username == null || username.isBlank()) {
+            return Mono.just(failure(username, null, Step.VALIDATE,
+                    new IllegalArgumentException("A username is required to provision a user")));
+        }
+        return Mono.defer(() -> checkpoints.find(username))
+                .flatMap(checkpoint -> checkpoint.getStage() == ProvisioningCheckpoint.Stage.COMPLETED
+                        ? Mono.just(result(username, checkpoint.getUserId(), Status.SKIPPED))
+                        : assignRoles(request, checkpoint.getUserId(), Status.RESUMED))
+                .switchIfEmpty(Mono.defer(() -> create(request)))
+                .onErrorResume(e -> Mono.just(failure(username, null, Step.CHECKPOINT, e)));
+    }
+
+    private Mono<ProvisioningResult> create(CreateUserRequest request) {
+        String username = request.getUsername();
+        return pacer.acquire()
+                .then(Mono.defer(() -> adapter.createUser(request)))
+                .map(response -> new Created(response, null))
+                .onErrorResume(e -> Mono.just(new Created(null, e)))
+                .defaultIfEmpty(new Created(null, new IllegalStateException("createUser completed without a response")))
+                .flatMap(created -> {
+                    int status = created.status();
+                    if (status == HttpStatus.CONFLICT.value()) {
+                        return resume(request);
+                    }
+                    String userId = created.userId();
+                    if (userId == null) {
+                        ProvisioningResult failure = failure(username, null, Step.CREATE_USER, created.error);
+                        failure.setHttpStatus(status == HttpStatuses.UNKNOWN ? null : status);
+                        return Mono.just(failure);
+                    }
+                    return checkpoints.save(checkpoint(username, userId, ProvisioningCheckpoint.Stage.CREATED))
+                            .then(assignRoles(request, userId, Status.CREATED));
+                });
+    }
+
+    /**
+     * The IdP already has the user, possibly created by a run that stopped before checkpointing it:
+     * look up its id and finish the role assignment, or report it as incomplete.
+     */
+    private Mono<ProvisioningResult> resume(CreateUserRequest request) {
+        String username = request.getUsername();
+        return Mono.defer(() -> options.getUserIdResolver().apply(username))
+                .flatMap(userId -> checkpoints.save(checkpoint(username, userId, ProvisioningCheckpoint.Stage.CREATED))
+                        .then(assignRoles(request, userId, Status.RESUMED)))
+                .switchIfEmpty(Mono.fromSupplier(() -> result(username, null, Status.ALREADY_EXISTS)))
+                .onErrorResume(e -> {
+                    ProvisioningResult failure = failure(username, null, Step.CREATE_USER, e);
+                    failure.setHttpStatus(HttpStatus.CONFLICT.value());
+                    return Mono.just(failure);
+                });
+    }
+
+    private Mono<ProvisioningResult> assignRoles(CreateUserRequest request, String userId, Status status) {
+        String username = request.getUsername();
+        List<String> roles = options.getRolesResolver().apply(request);
+        Mono<Void> assignment = roles == null || roles.isEmpty()
+                ? Mono.empty()
+                : pacer.acquire().then(Mono.defer(() -> adapter.assignRolesToUser(
+                        AssignRolesRequest.builder().userId(userId).roleNames(roles).build())));
+        return assignment
+                .then(Mono.defer(() -> checkpoints.save(
+                        checkpoint(username, userId, ProvisioningCheckpoint.Stage.COMPLETED))))
+                .thenReturn(result(username, userId, status))
+                .onErrorResume(e -> {
+                    ProvisioningResult failure = failure(username, userId, Step.ASSIGN_ROLES, e);
+                    int httpStatus = HttpStatuses.statusOf(e);
+                    failure.setHttpStatus(httpStatus == HttpStatuses.UNKNOWN ? null : httpStatus);
+                    return Mono.just(failure);
+                });
+    }
+
+    private static ProvisioningCheckpoint checkpoint(String username, String userId, ProvisioningCheckpoint.Stage stage) {
+        return ProvisioningCheckpoint.builder().username(username).userId(userId).stage(stage).build();
+    }
+
+    private static ProvisioningResult result(String username, String userId, Status status) {
+        return ProvisioningResult.builder().username(username).userId(userId).status(status).build();
+    }
+
+    private static ProvisioningResult failure(String username, String userId, Step step, Throwable error) {
+        return ProvisioningResult.builder()
+                .username(username)
+                .userId(userId)
+                .status(Status.FAILED)
+                .failedStep(step)
+                .error(error)
+                .build();
+    }
+
+    private static final class Created {
+        final ResponseEntity<CreateUserResponse> response;
+        final Throwable error;
+
+        Created(ResponseEntity<CreateUserResponse> response, Throwable error) {
+            this.response = response;
+            this.error = error;
+        }
+
+        int status() {
+            return response != null ? response.getStatusCode().value() : HttpStatuses.statusOf(error);
+        }
+
+        String userId() {
+            if (response == null || !response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                return null;
+            }
+            return response.getBody().getId();
+        }
+    }
+
+    private final class Progress {
+        private final long startedAt;
+        private final LongAdder created = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder incomplete = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final AtomicLong processed = new AtomicLong();
+
+        Progress(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        void record(ProvisioningResult result) {
+            switch (result.getStatus()) {
+                case CREATED, RESUMED -> created.increment();
+                case SKIPPED -> skipped.increment();
+                case ALREADY_EXISTS -> incomplete.increment();
+                case FAILED -> failed.increment();
+            }
+            if (processed.incrementAndGet() % Math.max(1, options.getProgressInterval()) == 0) {
+                report();
+            }
+        }
+
+        void report() {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+            long count = processed.get();
+            double seconds = Math.max(elapsed.toNanos(), 1) / 1_000_000_000d;
+            options.getProgressListener().accept(ProvisioningProgress.builder()
+                    .processed(count)
+                    .created(created.sum())
+                    .skipped(skipped.sum())
+                    .incomplete(incomplete.sum())
+                    .failed(failed.sum())
+                    .elapsed(elapsed)
+                    .throughput(count / seconds)
+                    .build());
+        }
+    }
+}
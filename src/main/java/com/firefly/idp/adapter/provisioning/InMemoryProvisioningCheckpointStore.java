@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.provisioning;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ProvisioningCheckpointStore} kept in memory; suitable for tests and single-process retries.
+ */
+public class InMemoryProvisioningCheckpointStore implements ProvisioningCheckpointStore {
+
+    private final Map<String, ProvisioningCheckpoint> checkpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<ProvisioningCheckpoint> find(String username) {
+        return Mono.justOrEmpty(checkpoints.get(username));
+    }
+
+    @Override
+    public Mono<Void> save(ProvisioningCheckpoint checkpoint) {
+        return Mono.fromRunnable(() -> checkpoints.put(checkpoint.getUsername(), checkpoint));
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.provisioning;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Stores provisioning checkpoints so an interrupted import can resume without creating duplicates.
+ *
+ * Implementations backed by a database or key-value store survive process restarts;
+ * {@link InMemoryProvisioningCheckpointStore} only covers retries within one process.
+ */
+public interface ProvisioningCheckpointStore {
+
+    /**
+     * @param username the username of the record
+     * @return a reactive publisher with the checkpoint, or empty when the record was never processed
+     */
+    Mono<ProvisioningCheckpoint> find(String username);
+
+    /**
+     * Record progress for a user, replacing any previous checkpoint.
+     *
+     * @param checkpoint the checkpoint to store
+     */
+    Mono<Void> save(ProvisioningCheckpoint checkpoint);
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.provisioning;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of provisioning one user.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProvisioningResult {
+    private String username;
+    /** IdP user id, when known. */
+    private String userId;
+    private Status status;
+    /** Step that failed, for {@link Status#FAILED}. */
+    private Step failedStep;
+    /** HTTP status reported by the provider for the failed step, when available. */
+    private Integer httpStatus;
+    private Throwable error;
+
+    public enum Status {
+        /** User created and roles assigned. */
+        CREATED,
+        /** User created by an earlier run; roles assigned now. */
+        RESUMED,
+        /** User fully provisioned by an earlier run; nothing to do. */
+        SKIPPED,
+        /**
+         * The IdP already had the user (409) without a local checkpoint and the {@code userIdResolver}
+         * did not find its id; roles were not assigned, so the user may be incomplete.
+         */
+        ALREADY_EXISTS,
+        FAILED
+    }
+
+    public enum Step {
+        VALIDATE,
+        CREATE_USER,
+        ASSIGN_ROLES,
+        CHECKPOINT
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generic cell rate algorithm: a token bucket stored as a single "theoretical arrival time".
+ *
+ * Each permit pushes the arrival time forward by one emission interval; a request is allowed
+ * while the arrival time stays within the burst tolerance of now. Updates are one CAS on an
+ * {@link AtomicLong}, so a bucket never locks, and a bucket whose arrival time is in the past
+ * is indistinguishable from a new one and can be dropped.
+ */
+final class Gcra {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+
+    Gcra(BucketLimit limit) {
+        this.emissionIntervalNanos = Math.max(1, limit.getPeriod().toNanos() / Math.max(1, limit.getPermits()));
+        this.toleranceNanos = emissionIntervalNanos * (Math.max(1, limit.getBurst()) - 1);
+    }
+
+    /**
+     * @return zero if a permit was taken, otherwise the nanoseconds until one becomes available
+     */
+    long tryAcquire(AtomicLong arrival, long now) {
+        while (true) {
+            long tat = arrival.get();
+            long base = tat - now < 0 ? now : tat;
+            long wait = base - toleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back a permit taken by {@link #tryAcquire} for an attempt that was not made after all.
+     */
+    void refund(AtomicLong arrival) {
+        arrival.addAndGet(-emissionIntervalNanos);
+    }
+
+    static boolean isIdle(AtomicLong arrival, long now) {
+        return arrival.get() - now <= 0;
+    }
+}
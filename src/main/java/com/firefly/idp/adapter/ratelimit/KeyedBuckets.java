@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.ratelimit;
+
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Gcra} buckets keyed by string, with a bounded key count and periodic removal of idle
+ * buckets. Concurrency comes from {@link ConcurrentHashMap}'s striping plus a CAS per bucket.
+ *
+ * Sweeps run on a background scheduler, never on the calling thread. While the map is full and a
+ * sweep has not made room, new keys share a single overflow bucket with the same limit, so filling
+ * the map with junk keys throttles those keys together rather than lifting the limit.
+ */
+final class KeyedBuckets {
+
+    /** Minimum spacing of the extra sweeps triggered by a full map, bounding their cost under attack. */
+    private static final long FULL_SWEEP_SPACING_NANOS = 1_000_000_000L;
+
+    private final Gcra gcra;
+    private final int maxKeys;
+    private final long sweepIntervalNanos;
+    private final Scheduler scheduler;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow;
+    private final AtomicLong lastSweep;
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    KeyedBuckets(BucketLimit limit, int maxKeys, long sweepIntervalNanos, long now, Scheduler scheduler) {
+        this.gcra = new Gcra(limit);
+        this.maxKeys = maxKeys;
+        this.sweepIntervalNanos = sweepIntervalNanos;
+        this.scheduler = scheduler;
+        this.overflow = new AtomicLong(now);
+        this.lastSweep = new AtomicLong(now);
+    }
+
+    /**
+     * @return the bucket of the key, or the shared overflow bucket if the map has no room for it
+     */
+    AtomicLong bucket(String key, long now) {
+        maybeSweep(now, false);
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            maybeSweep(now, true);
+            return overflow;
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    /**
+     * @return zero if the attempt is allowed, otherwise the nanoseconds until it would be
+     */
+    long tryAcquire(AtomicLong bucket, long now) {
+        return gcra.tryAcquire(bucket, now);
+    }
+
+    /**
+     * Give back the permit of an attempt rejected by a later limit.
+     */
+    void refund(AtomicLong bucket) {
+        gcra.refund(bucket);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void maybeSweep(long now, boolean full) {
+        long last = lastSweep.get();
+        long spacing = full ? Math.min(FULL_SWEEP_SPACING_NANOS, sweepIntervalNanos) : sweepIntervalNanos;
+        if (now - last >= spacing && lastSweep.compareAndSet(last, now) && sweeping.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                try {
+                    long sweptAt = System.nanoTime();
+                    buckets.values().removeIf(bucket -> Gcra.isIdle(bucket, sweptAt));
+                } finally {
+                    sweeping.set(false);
+                }
+            });
+        }
+    }
+}
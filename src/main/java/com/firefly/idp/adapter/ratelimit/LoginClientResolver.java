@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.ratelimit;
+
+import com.firefly.idp.dtos.LoginRequest;
+import reactor.util.context.ContextView;
+
+/**
+ * Derives the client key (IP address, API client, device id) a login attempt is limited by,
+ * usually from a value the web layer put into the Reactor context.
+ */
+@FunctionalInterface
+public interface LoginClientResolver {
+
+    /**
+     * @return the client key, or {@code null} to skip the per-client limit for this attempt
+     */
+    String resolve(LoginRequest request, ContextView context);
+
+    /**
+     * @return a resolver reading a string entry of the Reactor context
+     */
+    static LoginClientResolver fromContext(Object key) {
+        return (request, context) -> context.getOrDefault(key, null);
+    }
+}
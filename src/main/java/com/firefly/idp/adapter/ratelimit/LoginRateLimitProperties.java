@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link LoginRateLimitingIdpAdapter}. A {@code null} limit disables that bucket.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginRateLimitProperties {
+
+    /** Attempts allowed per username; usernames are compared case-insensitively. */
+    @Builder.Default
+    private BucketLimit perUsername = BucketLimit.of(10, Duration.ofMinutes(1), 5);
+
+    /** Attempts allowed per client key, when a {@link LoginClientResolver} is configured. */
+    @Builder.Default
+    private BucketLimit perClient = BucketLimit.of(60, Duration.ofMinutes(1), 20);
+
+    /** Attempts allowed across all callers, protecting the IdP itself. */
+    @Builder.Default
+    private BucketLimit global = BucketLimit.of(500, Duration.ofSeconds(1), 1000);
+
+    /**
+     * Upper bound on tracked usernames and client keys each. When a sweep of idle buckets cannot
+     * make room, new keys share one overflow bucket with the same limit until it does.
+     */
+    @Builder.Default
+    private int maxTrackedKeys = 1_000_000;
+
+    /** How often idle buckets, which hold no state beyond a full bucket, are removed. */
+    @Builder.Default
+    private Duration sweepInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.ratelimit;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.dtos.LoginRequest;
+import com.firefly.idp.dtos.TokenResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link IdpAdapter} decorator that rate-limits {@code login} locally, before any network call.
+ *
+ * An attempt must pass the per-username bucket, then the per-client bucket (when a
+ * {@link LoginClientResolver} is configured) and finally the global bucket. A rejected attempt
+ * gets a {@code 429 Too Many Requests} response with a {@code Retry-After} header and is charged to
+ * no bucket: later stages are not consulted, and earlier ones that allowed it are refunded. Every
+ * attempt that reaches the IdP counts, successful or not, since a limit on failures alone would let
+ * an attacker learn which guesses succeeded.
+ */
+public class LoginRateLimitingIdpAdapter extends ForwardingIdpAdapter {
+
+    private final KeyedBuckets usernames;
+    private final KeyedBuckets clients;
+    private final Gcra global;
+    private final AtomicLong globalArrival;
+    private final LoginClientResolver clientResolver;
+    private final LongAdder rejected = new LongAdder();
+
+    public LoginRateLimitingIdpAdapter(IdpAdapter delegate) {
+        this(delegate, LoginRateLimitProperties.builder().build(), null);
+    }
+
+    /**
+     * @param clientResolver source of the per-client key; {@code null} disables the per-client limit
+     */
+    public LoginRateLimitingIdpAdapter(IdpAdapter delegate, LoginRateLimitProperties properties,
+                                       LoginClientResolver clientResolver) {
+        super(delegate);
+        long now = System.nanoTime();
+        long sweepInterval = properties.getSweepInterval().toNanos();
+        this.usernames = properties.getPerUsername() == null ? null
+                : new KeyedBuckets(properties.getPerUsername(), properties.getMaxTrackedKeys(), sweepInterval, now,
+                        Schedulers.parallel());
+        this.clients = properties.getPerClient() == null || clientResolver == null ? null
+                : new KeyedBuckets(properties.getPerClient(), properties.getMaxTrackedKeys(), sweepInterval, now,
+                        Schedulers.parallel());
+        this.global = properties.getGlobal() == null ? null : new Gcra(properties.getGlobal());
+        this.globalArrival = new AtomicLong(now);
+        this.clientResolver = clientResolver;
+    }
+
+    @Override
+    public Mono<ResponseEntity<TokenResponse>> login(LoginRequest request) {
+        return Mono.deferContextual(context -> {
+            long now = System.nanoTime();
+            long wait = 0;
+            AtomicLong userBucket = null;
+            AtomicLong clientBucket = null;
+            String username = request.getUsername();
+            if (usernames != null && username != null) {
+                AtomicLong bucket = usernames.bucket(username.trim().toLowerCase(Locale.ROOT), now);
+                wait = usernames.tryAcquire(bucket, now);
+                userBucket = wait == 0 ? bucket : null;
+            }
+            if (wait == 0 && clients != null) {
+                String client = clientResolver.resolve(request, context);
+                if (client != null) {
+                    AtomicLong bucket = clients.bucket(client, now);
+                    wait = clients.tryAcquire(bucket, now);
+                    clientBucket = wait == 0 ? bucket : null;
+                }
+            }
+            if (wait == 0 && global != null) {
+                wait = global.tryAcquire(globalArrival, now);
+            }
+            if (wait > 0) {
+                if (userBucket != null) {
+                    usernames.refund(userBucket);
+                }
+                if (clientBucket != null) {
+                    clients.refund(clientBucket);
+                }
+                rejected.increment();
+                return Mono.just(tooManyRequests(wait));
+            }
+            return super.login(request);
+        });
+    }
+
+    /**
+     * @return the number of login attempts rejected locally
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of usernames currently tracked
+     */
+    public int trackedUsernames() {
+        return usernames == null ? 0 : usernames.size();
+    }
+
+    private static ResponseEntity<TokenResponse> tooManyRequests(long waitNanos) {
+        long seconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.revocation;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * {@link RevocationChannel} connecting the indexes of a single JVM, for tests and single-node setups.
+ */
+public class InProcessRevocationChannel implements RevocationChannel {
+
+    private final Sinks.Many<RevocationEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    @Override
+    public Mono<Void> publish(RevocationEvent event) {
+        return Mono.fromRunnable(() -> sink.emitNext(event, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100))));
+    }
+
+    @Override
+    public Flux<RevocationEvent> events() {
+        return sink.asFlux();
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.revocation;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Propagates revocations between nodes, e.g. over Redis pub/sub or Kafka.
+ *
+ * Delivery may be at-least-once and may echo a node's own events back to it; applying an event
+ * twice is harmless.
+ */
+public interface RevocationChannel {
+
+    /**
+     * Send a revocation to the other nodes.
+     */
+    Mono<Void> publish(RevocationEvent event);
+
+    /**
+     * @return revocations published by any node, as long as subscribed
+     */
+    Flux<RevocationEvent> events();
+}
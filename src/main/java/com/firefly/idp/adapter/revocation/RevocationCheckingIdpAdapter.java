@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.revocation;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.dtos.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * {@link IdpAdapter} decorator that enforces a {@link RevocationIndex}.
+ *
+ * {@code logout}, {@code revokeRefreshToken} and {@code revokeSession} record the revocation
+ * before calling the IdP, so the tokens are refused locally even if the provider call fails. The
+ * provider is called even when the revocation cannot be propagated to other nodes.
+ * {@code introspect} answers {@code active=false}, and {@code getUserInfo} and {@code refresh}
+ * answer 401, for revoked tokens without reaching the delegate. Place it outside any cache or
+ * local JWT verification so their results cannot bypass the check.
+ */
+public class RevocationCheckingIdpAdapter extends ForwardingIdpAdapter {
+
+    private static final IntrospectionResponse INACTIVE = IntrospectionResponse.builder().active(false).build();
+
+    private final RevocationIndex index;
+
+    public RevocationCheckingIdpAdapter(IdpAdapter delegate, RevocationIndex index) {
+        super(delegate);
+        this.index = Objects.requireNonNull(index, "index");
+    }
+
+    @Override
+    public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+        return Mono.defer(() -> index.isRevoked(accessToken)
+                ? Mono.just(ResponseEntity.ok(INACTIVE))
+                : super.introspect(accessToken));
+    }
+
+    @Override
+    public Mono<ResponseEntity<UserInfoResponse>> getUserInfo(String accessToken) {
+        return Mono.defer(() -> index.isRevoked(accessToken)
+                ? Mono.just(ResponseEntity.<UserInfoResponse>status(HttpStatus.UNAUTHORIZED).build())
+                : super.getUserInfo(accessToken));
+    }
+
+    @Override
+    public Mono<ResponseEntity<TokenResponse>> refresh(RefreshRequest request) {
+        return Mono.defer(() -> index.isRevoked(request.getRefreshToken())
+                ? Mono.just(ResponseEntity.<TokenResponse>status(HttpStatus.UNAUTHORIZED).build())
+                : super.refresh(request));
+    }
+
+    @Override
+    public Mono<Void> logout(LogoutRequest request) {
+        return index.revokeToken(request.getAccessToken())
+                .then(index.revokeToken(request.getRefreshToken()))
+                .then(Mono.defer(() -> super.logout(request)));
+    }
+
+    @Override
+    public Mono<Void> revokeRefreshToken(String refreshToken) {
+        return index.revokeToken(refreshToken).then(Mono.defer(() -> super.revokeRefreshToken(refreshToken)));
+    }
+
+    @Override
+    public Mono<Void> revokeSession(String sessionId) {
+        return index.revokeSession(sessionId).then(Mono.defer(() -> super.revokeSession(sessionId)));
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.revocation;
+
+import com.firefly.idp.adapter.cache.TokenKey;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A revocation as exchanged between nodes. Tokens travel as their hashed {@link TokenKey} plus a
+ * non-cryptographic fingerprint for the receiving Bloom filter, never in clear.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevocationEvent {
+
+    public enum Type {
+        TOKEN,
+        SESSION
+    }
+
+    private Type type;
+
+    /** Hashed token, for {@link Type#TOKEN}. */
+    private TokenKey key;
+
+    /** {@link TokenFingerprint} of the token, for {@link Type#TOKEN}. */
+    private long fingerprint;
+
+    /** Session id, for {@link Type#SESSION}. */
+    private String sessionId;
+
+    /** Epoch millis after which the revocation can be forgotten. */
+    private long expiresAtMillis;
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.revocation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.idp.adapter.cache.TokenKey;
+import com.firefly.idp.adapter.jwt.JwtClaimScanner;
+import com.firefly.idp.adapter.jwt.SignedJwt;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local denylist of revoked tokens and sessions.
+ *
+ * A check computes a cheap {@link TokenFingerprint} and probes a Bloom filter; only on a hit is
+ * the SHA-256 {@link TokenKey} computed and looked up in the exact map, so the common case of a
+ * valid token costs a few nanoseconds and no allocation. While a session is revoked, the token's
+ * session claim is also located with a {@link JwtClaimScanner} and its hash probed in a table of
+ * revoked session hashes, again without allocating; only a hit builds the session id and checks the
+ * exact map. Session claims with unusual escapes fall back to a full parse. Opaque tokens carry no
+ * session claim, so revoking a session never blocks them; revoke such tokens individually. Entries
+ * are kept until the token's {@code exp} (or a configured TTL when it cannot be read) and pruned
+ * after that, with the Bloom filter and session table rebuilt from the surviving entries.
+ * <p>
+ * With a {@link RevocationChannel}, local revocations are published and remote ones applied. A
+ * revocation is applied locally before it is published, and a failed publish is counted rather
+ * than failing the revocation. Call {@link #close()} to stop listening.
+ */
+public class RevocationIndex implements AutoCloseable {
+
+    private final RevocationProperties properties;
+    private final ObjectMapper mapper;
+    private final Clock clock;
+    private final RevocationChannel channel;
+    private final Map<TokenKey, Revoked> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Long> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong lastPrune;
+    private final LongAdder publishErrors = new LongAdder();
+    private final Disposable subscription;
+    private final JwtClaimScanner sessionClaims;
+    private volatile BloomFilter filter;
+    private volatile AtomicLongArray sessionHashes = new AtomicLongArray(16);
+    private int sessionHashCount;
+
+    public RevocationIndex(RevocationProperties properties, ObjectMapper mapper, Clock clock) {
+        this(properties, mapper, clock, null);
+    }
+
+    /**
+     * @param channel propagation to other nodes; {@code null} keeps revocations local
+     */
+    public RevocationIndex(RevocationProperties properties, ObjectMapper mapper, Clock clock,
+                           RevocationChannel channel) {
+        this.properties = Objects.requireNonNull(properties, "properties");
+        this.mapper = Objects.requireNonNull(mapper, "mapper");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.channel = channel;
+        this.filter = newFilter();
+        this.sessionClaims = properties.getSessionClaims().length == 0 ? null
+                : new JwtClaimScanner(List.of(properties.getSessionClaims()));
+        this.lastPrune = new AtomicLong(clock.millis());
+        this.subscription = channel == null ? null : channel.events().subscribe(this::apply);
+    }
+
+    /**
+     * @return whether the token, or the session it belongs to, has been revoked and not yet expired
+     */
+    public boolean isRevoked(String token) {
+        if (token == null) {
+            return false;
+        }
+        if (filter.mightContain(TokenFingerprint.of(token))) {
+            Revoked revoked = tokens.get(TokenKey.of(token));
+            if (revoked != null && revoked.expiresAtMillis() > clock.millis()) {
+                return true;
+            }
+        }
+        return !sessions.isEmpty() && isSessionRevoked(token);
+    }
+
+    /**
+     * Revoke a token until its {@code exp}.
+     */
+    public Mono<Void> revokeToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            RevocationEvent event = RevocationEvent.builder()
+                    .type(RevocationEvent.Type.TOKEN)
+                    .key(TokenKey.of(token))
+                    .fingerprint(TokenFingerprint.of(token))
+                    .expiresAtMillis(expiryOf(token))
+                    .build();
+            return publish(event);
+        });
+    }
+
+    /**
+     * Revoke every token carrying the session id.
+     */
+    public Mono<Void> revokeSession(String sessionId) {
+        if (sessionId == null || sessionId.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> publish(RevocationEvent.builder()
+                .type(RevocationEvent.Type.SESSION)
+                .sessionId(sessionId)
+                .expiresAtMillis(clock.millis() + properties.getSessionTtl().toMillis())
+                .build()));
+    }
+
+    /**
+     * Record a revocation, local or received from another node.
+     */
+    public void apply(RevocationEvent event) {
+        if (event.getExpiresAtMillis() <= clock.millis()) {
+            return;
+        }
+        if (event.getType() == RevocationEvent.Type.SESSION) {
+            if (event.getSessionId() == null) {
+                return;
+            }
+            synchronized (this) {
+                sessions.merge(event.getSessionId(), event.getExpiresAtMillis(), Math::max);
+                addSessionHash(sessionHash(event.getSessionId()));
+            }
+        } else {
+            synchronized (this) {
+                tokens.merge(event.getKey(), new Revoked(event.getFingerprint(), event.getExpiresAtMillis()),
+                        (a, b) -> a.expiresAtMillis() >= b.expiresAtMillis() ? a : b);
+                filter.add(event.getFingerprint());
+            }
+        }
+        maybePrune();
+    }
+
+    /**
+     * Drop expired entries and rebuild the Bloom filter from the rest.
+     */
+    public synchronized void prune() {
+        long now = clock.millis();
+        lastPrune.set(now);
+        tokens.values().removeIf(revoked -> revoked.expiresAtMillis() <= now);
+        sessions.values().removeIf(expiresAt -> expiresAt <= now);
+        BloomFilter rebuilt = newFilter();
+        tokens.values().forEach(revoked -> rebuilt.add(revoked.fingerprint()));
+        filter = rebuilt;
+        rebuildSessionHashes();
+    }
+
+    /**
+     * @return the number of revoked tokens and sessions currently remembered
+     */
+    public int size() {
+        return tokens.size() + sessions.size();
+    }
+
+    /**
+     * @return the number of revocations that could not be published on the channel
+     */
+    public long getPublishErrors() {
+        return publishErrors.sum();
+    }
+
+    @Override
+    public void close() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Mono<Void> publish(RevocationEvent event) {
+        apply(event);
+        if (channel == null) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> channel.publish(event))
+                .onErrorResume(error -> {
+                    publishErrors.increment();
+                    return Mono.empty();
+                });
+    }
+
+    private boolean isSessionRevoked(String token) {
+        if (sessionClaims == null) {
+            return false;
+        }
+        long location = sessionClaims.find(token);
+        if (location == JwtClaimScanner.UNREADABLE) {
+            return isSessionRevoked(SignedJwt.parse(token, mapper));
+        }
+        if (location < 0) {
+            return false;
+        }
+        byte[] payload = sessionClaims.buffer();
+        int from = JwtClaimScanner.from(location);
+        int to = JwtClaimScanner.to(location);
+        if (!containsSessionHash(sessionHash(payload, from, to))) {
+            return false;
+        }
+        Long expiresAt = sessions.get(new String(payload, from, to - from, StandardCharsets.UTF_8));
+        return expiresAt != null && expiresAt > clock.millis();
+    }
+
+    private boolean isSessionRevoked(SignedJwt jwt) {
+        if (jwt == null) {
+            return false;
+        }
+        long now = clock.millis();
+        for (String claim : properties.getSessionClaims()) {
+            String sessionId = jwt.stringClaim(claim);
+            if (sessionId != null) {
+                Long expiresAt = sessions.get(sessionId);
+                if (expiresAt != null && expiresAt > now) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private long expiryOf(String token) {
+        SignedJwt jwt = SignedJwt.parse(token, mapper);
+        Long exp = jwt == null ? null : jwt.longClaim("exp");
+        return exp != null ? exp * 1000 : clock.millis() + properties.getOpaqueTokenTtl().toMillis();
+    }
+
+    private void maybePrune() {
+        long last = lastPrune.get();
+        if (clock.millis() - last >= properties.getPruneInterval().toMillis()
+                && lastPrune.compareAndSet(last, clock.millis())) {
+            prune();
+        }
+    }
+
+    private boolean containsSessionHash(long hash) {
+        AtomicLongArray table = sessionHashes;
+        int mask = table.length() - 1;
+        for (int slot = (int) (hash ^ (hash >>> 32)) & mask; ; slot = (slot + 1) & mask) {
+            long candidate = table.get(slot);
+            if (candidate == hash) {
+                return true;
+            }
+            if (candidate == 0) {
+                return false;
+            }
+        }
+    }
+
+    /** Called with the monitor held. */
+    private void addSessionHash(long hash) {
+        if ((sessionHashCount + 1) * 2 > sessionHashes.length()) {
+            rebuildSessionHashes();
+        } else if (insert(sessionHashes, hash)) {
+            sessionHashCount++;
+        }
+    }
+
+    /** Called with the monitor held; sized for a load of at most a quarter, so probes stay short. */
+    private void rebuildSessionHashes() {
+        AtomicLongArray table = new AtomicLongArray(Math.max(16, Integer.highestOneBit(sessions.size() * 4 + 1) << 1));
+        int count = 0;
+        for (String sessionId : sessions.keySet()) {
+            if (insert(table, sessionHash(sessionId))) {
+                count++;
+            }
+        }
+        sessionHashes = table;
+        sessionHashCount = count;
+    }
+
+    private static boolean insert(AtomicLongArray table, long hash) {
+        int mask = table.length() - 1;
+        for (int slot = (int) (hash ^ (hash >>> 32)) & mask; ; slot = (slot + 1) & mask) {
+            long candidate = table.get(slot);
+            if (candidate == hash) {
+                return false;
+            }
+            if (candidate == 0) {
+                table.set(slot, hash);
+                return true;
+            }
+        }
+    }
+
+    private static long sessionHash(String sessionId) {
+        byte[] bytes = sessionId.getBytes(StandardCharsets.UTF_8);
+        return sessionHash(bytes, 0, bytes.length);
+    }
+
+    /** 64-bit FNV-1a, never zero since zero marks an empty slot. */
+    private static long sessionHash(byte[] bytes, int from, int to) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            hash = (hash ^ (bytes[i] & 0xFF)) * 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(properties.getExpectedRevocations(), properties.getFalsePositiveRate());
+    }
+
+    private record Revoked(long fingerprint, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.revocation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link RevocationIndex}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevocationProperties {
+
+    /** Revoked tokens the Bloom filter is sized for; beyond it false positives rise, not misses. */
+    @Builder.Default
+    private int expectedRevocations = 100_000;
+
+    /** Target Bloom filter false-positive rate at {@link #expectedRevocations} entries. */
+    @Builder.Default
+    private double falsePositiveRate = 0.01;
+
+    /** How long a revoked token is remembered when its expiry cannot be read (opaque tokens). */
+    @Builder.Default
+    private Duration opaqueTokenTtl = Duration.ofHours(1);
+
+    /** How long a revoked session is remembered; should cover the longest access token lifetime. */
+    @Builder.Default
+    private Duration sessionTtl = Duration.ofHours(1);
+
+    /** Minimum spacing between prunes of expired entries. */
+    @Builder.Default
+    private Duration pruneInterval = Duration.ofMinutes(1);
+
+    /** JWT claims holding the session id, checked in order. */
+    @Builder.Default
+    private String[] sessionClaims = {"sid", "session_state"};
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.roles;
+
+import java.util.List;
+
+/**
+ * Source of a user's current roles when they are known locally, without calling the IdP.
+ */
+@FunctionalInterface
+public interface KnownRoles {
+
+    /**
+     * @return the user's roles, or {@code null} when not known
+     */
+    List<String> knownRoles(String userId);
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.roles;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link RoleCachingIdpAdapter}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleCacheProperties {
+
+    /** Time a user's role set is reused before it is fetched again. */
+    @Builder.Default
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /** Upper bound on the number of users whose roles are cached. */
+    @Builder.Default
+    private long maximumSize = 1_000_000;
+
+    /** Upper bound on distinct role sets shared between users; further sets are stored unshared. */
+    @Builder.Default
+    private int maxInternedRoleSets = 10_000;
+}
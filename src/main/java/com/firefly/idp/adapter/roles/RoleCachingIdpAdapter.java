@@ -0,0 +1,193 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.roles;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.cache.LocalCache;
+import com.firefly.idp.dtos.AssignRolesRequest;
+import com.firefly.idp.dtos.CreateRolesRequest;
+import com.firefly.idp.dtos.CreateRolesResponse;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link IdpAdapter} decorator that caches {@link #getRoles(String)} per user.
+ *
+ * Role changes made through this adapter are written through: {@code assignRolesToUser} and
+ * {@code removeRolesFromUser} update the cached set once the delegate succeeds (and invalidate it
+ * if the delegate fails, since the outcome is unknown), {@code deleteUser} evicts the user, and
+ * {@code createRoles} clears the cache because new roles may be granted implicitly (e.g. as
+ * defaults or composites). Changes made elsewhere become visible after the TTL.
+ */
+public class RoleCachingIdpAdapter extends ForwardingIdpAdapter implements KnownRoles {
+
+    private final RoleCacheProperties properties;
+    private final Clock clock;
+    private final LocalCache<String, List<String>> cache;
+    private final RoleSetInterner interner;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public RoleCachingIdpAdapter(IdpAdapter delegate) {
+        this(delegate, RoleCacheProperties.builder().build());
+    }
+
+    public RoleCachingIdpAdapter(IdpAdapter delegate, RoleCacheProperties properties) {
+        this(delegate, properties, Clock.systemUTC());
+    }
+
+    public RoleCachingIdpAdapter(IdpAdapter delegate, RoleCacheProperties properties, Clock clock) {
+        super(delegate);
+        this.properties = Objects.requireNonNull(properties, "properties");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.cache = new LocalCache<>(properties.getMaximumSize(), clock);
+        this.interner = new RoleSetInterner(properties.getMaxInternedRoleSets());
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<String>>> getRoles(String userId) {
+        if (userId == null) {
+            return super.getRoles(null);
+        }
+        return Mono.defer(() -> {
+            List<String> cached = cache.getIfPresent(userId);
+            if (cached != null) {
+                hits.increment();
+                return Mono.just(ResponseEntity.ok(cached));
+            }
+            misses.increment();
+            long generation = invalidations.get();
+            return super.getRoles(userId).map(response -> {
+                if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                    return response;
+                }
+                List<String> roles = interner.intern(response.getBody());
+                if (invalidations.get() == generation) {
+                    store(userId, roles);
+                }
+                return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()).body(roles);
+            });
+        });
+    }
+
+    @Override
+    public Mono<Void> assignRolesToUser(AssignRolesRequest request) {
+        return writeThrough(super.assignRolesToUser(request), request, true);
+    }
+
+    @Override
+    public Mono<Void> removeRolesFromUser(AssignRolesRequest request) {
+        return writeThrough(super.removeRolesFromUser(request), request, false);
+    }
+
+    @Override
+    public Mono<Void> deleteUser(String userId) {
+        return super.deleteUser(userId)
+                .doFirst(() -> invalidate(userId))
+                .doFinally(signal -> invalidate(userId));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateRolesResponse>> createRoles(CreateRolesRequest request) {
+        return super.createRoles(request).doFinally(signal -> {
+            invalidations.incrementAndGet();
+            cache.invalidateAll();
+        });
+    }
+
+    /**
+     * @return the cached roles of the user, or {@code null}; does not count as a hit or miss
+     */
+    @Override
+    public List<String> knownRoles(String userId) {
+        return userId == null ? null : cache.getIfPresent(userId);
+    }
+
+    /**
+     * @return the number of lookups served from cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that reached the delegate
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of users whose roles are cached
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * @return the number of distinct role sets shared by cached users
+     */
+    public int internedRoleSets() {
+        return interner.size();
+    }
+
+    private Mono<Void> writeThrough(Mono<Void> call, AssignRolesRequest request, boolean assign) {
+        String userId = request.getUserId();
+        if (userId == null) {
+            return call;
+        }
+        return call
+                .doOnSuccess(ignored -> {
+                    invalidations.incrementAndGet();
+                    List<String> cached = cache.getIfPresent(userId);
+                    if (cached == null) {
+                        return;
+                    }
+                    Set<String> updated = new LinkedHashSet<>(cached);
+                    List<String> changed = request.getRoleNames() == null ? List.of() : request.getRoleNames();
+                    if (assign) {
+                        updated.addAll(changed);
+                    } else {
+                        changed.forEach(updated::remove);
+                    }
+                    store(userId, interner.intern(updated));
+                })
+                .doOnError(error -> invalidate(userId));
+    }
+
+    private void store(String userId, List<String> roles) {
+        cache.put(userId, roles, clock.millis() + properties.getTtl().toMillis());
+    }
+
+    private void invalidate(String userId) {
+        if (userId != null) {
+            invalidations.incrementAndGet();
+            cache.invalidate(userId);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.roles;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonicalises role sets so users with the same roles share one immutable instance.
+ *
+ * Role sets are sorted, de-duplicated immutable lists. Since most users hold one of a handful of
+ * role combinations, a million cached users typically reference a few dozen lists.
+ */
+public final class RoleSetInterner {
+
+    private final ConcurrentHashMap<List<String>, List<String>> sets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> names = new ConcurrentHashMap<>();
+    private final int maxSets;
+
+    /**
+     * @param maxSets upper bound on distinct role sets retained
+     */
+    public RoleSetInterner(int maxSets) {
+        this.maxSets = maxSets;
+    }
+
+    /**
+     * @param roles role names in any order, possibly with duplicates
+     * @return the canonical immutable role set
+     */
+    public List<String> intern(Collection<String> roles) {
+        TreeSet<String> sorted = new TreeSet<>();
+        for (String role : roles) {
+            if (role != null) {
+                sorted.add(role);
+            }
+        }
+        List<String> candidate = List.copyOf(sorted);
+        List<String> existing = sets.get(candidate);
+        if (existing != null) {
+            return existing;
+        }
+        if (sets.size() >= maxSets) {
+            return candidate;
+        }
+        List<String> canonical = List.copyOf(candidate.stream().map(this::name).toList());
+        existing = sets.putIfAbsent(canonical, canonical);
+        return existing != null ? existing : canonical;
+    }
+
+    /**
+     * @return the number of distinct role sets retained
+     */
+    public int size() {
+        return sets.size();
+    }
+
+    private String name(String role) {
+        String existing = names.putIfAbsent(role, role);
+        return existing != null ? existing : role;
+    }
+}
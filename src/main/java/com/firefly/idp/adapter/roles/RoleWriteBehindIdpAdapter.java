@@ -0,0 +1,268 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.roles;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.support.WheelTimer;
+import com.firefly.idp.dtos.AssignRolesRequest;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link IdpAdapter} decorator that buffers role assignments and removals per user and writes the
+ * net change behind.
+ *
+ * The first change to a user opens a window; changes arriving within it are merged, the last
+ * operation on a role winning, so an assign followed by a remove cancels out. When the window
+ * closes the user is flushed with at most one {@code assignRolesToUser} and one
+ * {@code removeRolesFromUser} call, and every caller whose change was merged completes with the
+ * outcome of that flush. With a {@link KnownRoles} source (e.g. {@link RoleCachingIdpAdapter}),
+ * roles the user already has are not assigned again and roles it lacks are not removed.
+ * <p>
+ * Flushes run at most {@code flushConcurrency} users at a time, and flushes of one user never
+ * overlap, so changes reach the IdP in order. {@code deleteUser} flushes the user first. Call
+ * {@link #flush()} before shutdown; {@link #close()} fails changes still buffered.
+ */
+public class RoleWriteBehindIdpAdapter extends ForwardingIdpAdapter implements AutoCloseable {
+
+    private final RoleWriteBehindProperties properties;
+    private final KnownRoles knownRoles;
+    private final WheelTimer timer;
+    private final boolean ownsTimer;
+    private final Map<String, PendingChanges> pending = new ConcurrentHashMap<>();
+    private final Map<String, Mono<Void>> flushing = new ConcurrentHashMap<>();
+    private final Sinks.Many<String> due = Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable flusher;
+    private final LongAdder merged = new LongAdder();
+    private final LongAdder calls = new LongAdder();
+
+    public RoleWriteBehindIdpAdapter(IdpAdapter delegate, RoleWriteBehindProperties properties) {
+        this(delegate, properties, null);
+    }
+
+    /**
+     * @param knownRoles source of current roles used to skip no-op changes; {@code null} for none
+     */
+    public RoleWriteBehindIdpAdapter(IdpAdapter delegate, RoleWriteBehindProperties properties,
+                                     KnownRoles knownRoles) {
+        this(delegate, properties, knownRoles, new WheelTimer(properties.getTick(), properties.getWheelSize(),
+                Clock.systemUTC(), Schedulers.parallel()), true);
+    }
+
+    /**
+     * Create an adapter on a shared timer; closing the adapter leaves the timer running.
+     */
+    public RoleWriteBehindIdpAdapter(IdpAdapter delegate, RoleWriteBehindProperties properties,
+                                     KnownRoles knownRoles, WheelTimer timer) {
+        this(delegate, properties, knownRoles, timer, false);
+    }
+
+    private RoleWriteBehindIdpAdapter(IdpAdapter delegate, RoleWriteBehindProperties properties,
+                                      KnownRoles knownRoles, WheelTimer timer, boolean ownsTimer) {
+        super(delegate);
+        this.properties = Objects.requireNonNull(properties, "properties");
+        this.knownRoles = knownRoles;
+        this.timer = Objects.requireNonNull(timer, "timer");
+        this.ownsTimer = ownsTimer;
+        this.flusher = due.asFlux()
+                .flatMap(userId -> flush(userId).onErrorResume(error -> Mono.empty()),
+                        Math.max(1, properties.getFlushConcurrency()))
+                .subscribe();
+    }
+
+    @Override
+    public Mono<Void> assignRolesToUser(AssignRolesRequest request) {
+        return buffer(request, true);
+    }
+
+    @Override
+    public Mono<Void> removeRolesFromUser(AssignRolesRequest request) {
+        return buffer(request, false);
+    }
+
+    @Override
+    public Mono<Void> deleteUser(String userId) {
+        if (userId == null) {
+            return super.deleteUser(null);
+        }
+        return flush(userId)
+                .onErrorResume(error -> Mono.empty())
+                .then(Mono.defer(() -> super.deleteUser(userId)));
+    }
+
+    /**
+     * Flush every buffered user now.
+     */
+    public Mono<Void> flush() {
+        return Flux.defer(() -> Flux.fromIterable(new ArrayList<>(pending.keySet())))
+                .flatMap(userId -> flush(userId).onErrorResume(error -> Mono.empty()),
+                        Math.max(1, properties.getFlushConcurrency()))
+                .then();
+    }
+
+    /**
+     * @return the number of users with buffered changes
+     */
+    public int pendingUsers() {
+        return pending.size();
+    }
+
+    /**
+     * @return the number of caller requests merged into a buffer
+     */
+    public long getMerged() {
+        return merged.sum();
+    }
+
+    /**
+     * @return the number of assign and remove calls sent to the delegate by flushes
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public void close() {
+        flusher.dispose();
+        if (ownsTimer) {
+            timer.close();
+        }
+        IllegalStateException closed = new IllegalStateException("Role write-behind adapter closed");
+        for (String userId : new ArrayList<>(pending.keySet())) {
+            PendingChanges changes = pending.remove(userId);
+            if (changes != null) {
+                changes.complete(closed);
+            }
+        }
+    }
+
+    private Mono<Void> buffer(AssignRolesRequest request, boolean assign) {
+        String userId = request.getUserId();
+        List<String> roles = request.getRoleNames();
+        if (userId == null || roles == null || roles.isEmpty()) {
+            return assign ? super.assignRolesToUser(request) : super.removeRolesFromUser(request);
+        }
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> done = Sinks.empty();
+            boolean[] opened = new boolean[1];
+            PendingChanges changes = pending.compute(userId, (id, existing) -> {
+                if (existing == null) {
+                    if (pending.size() >= properties.getMaxPendingUsers()) {
+                        return null;
+                    }
+                    existing = new PendingChanges();
+                    opened[0] = true;
+                }
+                existing.add(roles, assign, done);
+                return existing;
+            });
+            if (changes == null) {
+                return assign ? super.assignRolesToUser(request) : super.removeRolesFromUser(request);
+            }
+            merged.increment();
+            if (opened[0]) {
+                timer.schedule(() -> due.emitNext(userId, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1))),
+                        timer.clock().millis() + properties.getWindow().toMillis());
+            }
+            return done.asMono();
+        });
+    }
+
+    /**
+     * Flush a user once any flush of the same user already running has finished.
+     */
+    private Mono<Void> flush(String userId) {
+        return Mono.defer(() -> {
+            Mono<Void> run = flushing.compute(userId, (id, previous) ->
+                    (previous == null ? Mono.<Void>empty() : previous.onErrorResume(error -> Mono.empty()))
+                            .then(Mono.defer(() -> apply(userId)))
+                            .cache());
+            return run.doFinally(signal -> flushing.remove(userId, run));
+        });
+    }
+
+    private Mono<Void> apply(String userId) {
+        PendingChanges changes = pending.remove(userId);
+        if (changes == null) {
+            return Mono.empty();
+        }
+        List<String> assigned = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        changes.roles.forEach((role, assign) -> (assign ? assigned : removed).add(role));
+        List<String> current = knownRoles == null ? null : knownRoles.knownRoles(userId);
+        if (current != null) {
+            Set<String> has = new HashSet<>(current);
+            assigned.removeIf(has::contains);
+            removed.removeIf(role -> !has.contains(role));
+        }
+        Mono<Void> assign = assigned.isEmpty() ? Mono.empty() : Mono.defer(() -> {
+            calls.increment();
+            return super.assignRolesToUser(new AssignRolesRequest(userId, assigned));
+        });
+        Mono<Void> remove = removed.isEmpty() ? Mono.empty() : Mono.defer(() -> {
+            calls.increment();
+            return super.removeRolesFromUser(new AssignRolesRequest(userId, removed));
+        });
+        return assign.then(remove)
+                .doOnSuccess(ignored -> changes.complete(null))
+                .doOnError(changes::complete);
+    }
+
+    /**
+     * Changes buffered for one user. Only mutated inside {@code pending.compute} and read after
+     * the user's entry has been removed, so the map provides all the synchronisation.
+     */
+    private static final class PendingChanges {
+        private final Map<String, Boolean> roles = new LinkedHashMap<>();
+        private final List<Sinks.Empty<Void>> callers = new ArrayList<>(1);
+
+        void add(List<String> changed, boolean assign, Sinks.Empty<Void> caller) {
+            for (String role : changed) {
+                roles.remove(role);
+                roles.put(role, assign);
+            }
+            callers.add(caller);
+        }
+
+        void complete(Throwable error) {
+            for (Sinks.Empty<Void> caller : callers) {
+                if (error == null) {
+                    caller.tryEmitEmpty();
+                } else {
+                    caller.tryEmitError(error);
+                }
+            }
+        }
+    }
+}
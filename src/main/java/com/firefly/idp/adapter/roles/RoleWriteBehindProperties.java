@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.roles;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link RoleWriteBehindIdpAdapter}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleWriteBehindProperties {
+
+    /** How long changes to a user are collected before they are flushed. */
+    @Builder.Default
+    private Duration window = Duration.ofMillis(200);
+
+    /** Users flushed in parallel. */
+    @Builder.Default
+    private int flushConcurrency = 4;
+
+    /** Users with buffered changes; changes for further users go straight to the delegate. */
+    @Builder.Default
+    private int maxPendingUsers = 10_000;
+
+    /** Resolution of the flush timer. */
+    @Builder.Default
+    private Duration tick = Duration.ofMillis(10);
+
+    /** Buckets per timer wheel level; must be a power of two. */
+    @Builder.Default
+    private int wheelSize = 256;
+}
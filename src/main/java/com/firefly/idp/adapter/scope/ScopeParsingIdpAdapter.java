@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.scope;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.dtos.CreateScopeRequest;
+import com.firefly.idp.dtos.CreateScopeResponse;
+import com.firefly.idp.dtos.IntrospectionResponse;
+import com.firefly.idp.dtos.scope.ScopeRegistry;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * {@link IdpAdapter} decorator that attaches a parsed {@link com.firefly.idp.dtos.scope.ScopeSet}
+ * to every introspection result, so authorization checks become bit operations.
+ *
+ * Scopes created through {@code createScope} are registered once the IdP accepts them. Place it
+ * outside any caching decorator: stores that rebuild responses from bytes ({@code OffHeapIntrospectionStore},
+ * the shared tier of {@code TieredCachingIdpAdapter}) return them without a set, and this adapter parses
+ * one again on every such hit. Responses served from a heap cache keep the set attached the first time.
+ */
+public class ScopeParsingIdpAdapter extends ForwardingIdpAdapter {
+
+    private final ScopeRegistry registry;
+
+    public ScopeParsingIdpAdapter(IdpAdapter delegate, ScopeRegistry registry) {
+        super(delegate);
+        this.registry = Objects.requireNonNull(registry, "registry");
+    }
+
+    @Override
+    public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+        return super.introspect(accessToken).doOnNext(response -> {
+            IntrospectionResponse body = response.getBody();
+            if (body != null && body.getScopeSet() == null) {
+                body.setScopeSet(registry.parse(body.getScope()));
+            }
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateScopeResponse>> createScope(CreateScopeRequest request) {
+        return super.createScope(request).doOnNext(response -> {
+            if (response.getStatusCode().is2xxSuccessful() && request.getName() != null) {
+                registry.register(request.getName());
+            }
+        });
+    }
+
+    /**
+     * @return the registry scopes are parsed against
+     */
+    public ScopeRegistry registry() {
+        return registry;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.session;
+
+import com.firefly.idp.dtos.SessionInfo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Paging and filter settings for {@code IdpAdapter.streamSessions}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionQuery {
+
+    /** Number of sessions requested from the provider per page. */
+    @Builder.Default
+    private int pageSize = 100;
+
+    /** When set, only sessions last accessed before this instant are emitted. */
+    private Instant lastAccessBefore;
+
+    /** When set, only sessions created before this instant are emitted. */
+    private Instant createdBefore;
+
+    /**
+     * @param session a session returned by the provider
+     * @return true when the session passes every configured filter
+     */
+    public boolean matches(SessionInfo session) {
+        if (lastAccessBefore != null
+                && (session.getLastAccessAt() == null || !session.getLastAccessAt().isBefore(lastAccessBefore))) {
+            return false;
+        }
+        return createdBefore == null
+                || (session.getCreatedAt() != null && session.getCreatedAt().isBefore(createdBefore));
+    }
+}
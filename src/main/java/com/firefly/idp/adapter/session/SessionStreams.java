@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.session;
+
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.dtos.SessionInfo;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming operations over {@link IdpAdapter#listSessions(String, int, int)}.
+ */
+public final class SessionStreams {
+
+    private static final int MAX_REVOCATION_PASSES = 5;
+
+    private SessionStreams() {
+    }
+
+    /**
+     * Page lazily through a user's sessions.
+     *
+     * A page is requested only when the subscriber demands more sessions than the previous pages
+     * delivered, and paging stops at the first page shorter than the page size. A non-2xx answer
+     * fails the stream with its status rather than being taken for the end of the listing.
+     *
+     * @param adapter the adapter providing paged session listings
+     * @param userId  the user identifier
+     * @param query   page size and filters
+     * @return a reactive stream of the matching sessions
+     */
+    public static Flux<SessionInfo> stream(IdpAdapter adapter, String userId, SessionQuery query) {
+        int pageSize = Math.max(1, query.getPageSize());
+        return Flux.<Integer, Integer>generate(() -> 0, (page, sink) -> {
+                    sink.next(page);
+                    return page + 1;
+                })
+                .concatMap(page -> adapter.listSessions(userId, page * pageSize, pageSize)
+                        .<List<SessionInfo>>handle((response, sink) -> {
+                            if (!response.getStatusCode().is2xxSuccessful()) {
+                                sink.error(new ResponseStatusException(response.getStatusCode(),
+                                        "Listing sessions failed"));
+                            } else {
+                                sink.next(response.getBody() != null ? response.getBody() : List.of());
+                            }
+                        })
+                        .defaultIfEmpty(List.of()), 1)
+                .takeUntil(sessions -> sessions.size() < pageSize)
+                .concatMapIterable(sessions -> sessions, 1)
+                .filter(query::matches);
+    }
+
+    /**
+     * Revoke every session of a user that has not been accessed since the cutoff.
+     *
+     * Sessions are revoked while the listing is streamed. Because revocations shift the offsets of
+     * later pages, the listing is repeated until a pass finds nothing left to revoke. A session is
+     * reported as failed once, however many passes fail to revoke it, and not at all if a later
+     * pass succeeds. A failed listing fails the returned publisher.
+     *
+     * @param adapter     the adapter
+     * @param userId      the user identifier
+     * @param cutoff      sessions last accessed before this instant are revoked
+     * @param concurrency maximum number of revocations in flight
+     * @return a reactive publisher with the number of sessions revoked and failed
+     */
+    public static Mono<SessionRevocationReport> revokeStaleSessions(IdpAdapter adapter, String userId,
+                                                                    Instant cutoff, int concurrency) {
+        SessionQuery query = SessionQuery.builder().lastAccessBefore(cutoff).build();
+        return Mono.defer(() -> {
+            AtomicLong revoked = new AtomicLong();
+            Set<String> failed = ConcurrentHashMap.newKeySet();
+            Mono<Long> pass = Mono.defer(() -> {
+                long before = revoked.get();
+                return adapter.streamSessions(userId, query)
+                        .flatMap(session -> adapter.revokeSession(session.getSessionId())
+                                .doOnSuccess(ignored -> {
+                                    revoked.incrementAndGet();
+                                    failed.remove(String.valueOf(session.getSessionId()));
+                                })
+                                .onErrorResume(e -> {
+                                    failed.add(String.valueOf(session.getSessionId()));
+                                    return Mono.empty();
+                                }), Math.max(1, concurrency))
+                        .then(Mono.fromSupplier(() -> revoked.get() - before));
+            });
+            return pass.repeat(MAX_REVOCATION_PASSES - 1)
+                    .takeUntil(revokedInPass -> revokedInPass == 0)
+                    .then(Mono.fromSupplier(() -> SessionRevocationReport.builder()
+                            .revoked(revoked.get())
+                            .failed(failed.size())
+                            .build()));
+        });
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.support;
+
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Helpers for reading HTTP status codes from provider errors.
+ */
+public final class HttpStatuses {
+
+    /** Status reported when an error carries no HTTP status. */
+    public static final int UNKNOWN = 0;
+
+    private HttpStatuses() {
+    }
+
+    /**
+     * @param error an error raised by an adapter call
+     * @return the HTTP status carried by the error, or {@link #UNKNOWN}
+     */
+    public static int statusOf(Throwable error) {
+        if (error instanceof ResponseStatusException e) {
+            return e.getStatusCode().value();
+        }
+        if (error instanceof WebClientResponseException e) {
+            return e.getStatusCode().value();
+        }
+        return UNKNOWN;
+    }
+}
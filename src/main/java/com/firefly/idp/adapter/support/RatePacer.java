@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.support;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking pacer that spaces permits evenly to stay under a rate limit.
+ *
+ * Each {@link #acquire()} reserves the next free slot with a single CAS and delays the subscriber
+ * until that slot, so callers are throttled without blocking threads.
+ */
+public final class RatePacer {
+
+    private final long intervalNanos;
+    private final AtomicLong nextSlot = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param permitsPerSecond allowed rate; zero or negative disables pacing
+     */
+    public RatePacer(double permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond <= 0 ? 0 : (long) (1_000_000_000L / permitsPerSecond);
+    }
+
+    /**
+     * @return a publisher completing once the caller may proceed
+     */
+    public Mono<Void> acquire() {
+        if (intervalNanos == 0) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            long wait = reserve(System.nanoTime());
+            return wait <= 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(wait)).then();
+        });
+    }
+
+    private long reserve(long now) {
+        while (true) {
+            long next = nextSlot.get();
+            long slot = next == Long.MIN_VALUE || next - now < 0 ? now : next;
+            if (nextSlot.compareAndSet(next, slot + intervalNanos)) {
+                return slot - now;
+            }
+        }
+    }
+}
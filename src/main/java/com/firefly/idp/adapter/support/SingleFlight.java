@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.support;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into a single in-flight {@link Mono}.
+ *
+ * The first subscriber for a key starts the call; subscribers arriving while it runs share its
+ * outcome. The entry is removed as soon as the call completes or fails, so later subscribers start
+ * a fresh call. The shared call is not cancelled when a subscriber cancels, so one caller giving up
+ * never fails the others.
+ *
+ * @param <K> key type
+ * @param <V> result type
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Mono<V>> inflight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Run the call for a key, or join the one already in flight.
+     *
+     * @param key  the key identifying equivalent calls
+     * @param call factory for the underlying call, invoked at most once per flight
+     * @return a reactive publisher with the shared result
+     */
+    public Mono<V> execute(K key, Supplier<? extends Mono<V>> call) {
+        Objects.requireNonNull(key, "key");
+        return Mono.defer(() -> {
+            calls.increment();
+            AtomicReference<Mono<V>> created = new AtomicReference<>();
+            Mono<V> flight = inflight.computeIfAbsent(key, k -> {
+                Mono<V> shared = Mono.defer(call)
+                        .doFinally(signal -> inflight.remove(k, created.get()))
+                        .cache();
+                created.set(shared);
+                return shared;
+            });
+            if (flight != created.get()) {
+                coalesced.increment();
+            }
+            return flight;
+        });
+    }
+
+    /**
+     * @return the number of calls submitted, including coalesced ones
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * @return the number of calls that joined a flight instead of reaching the delegate
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return the number of keys with a call currently in flight
+     */
+    public int inFlight() {
+        return inflight.size();
+    }
+}
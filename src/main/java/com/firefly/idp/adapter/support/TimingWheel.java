@@ -0,0 +1,255 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding millions of timers at O(1) cost per schedule and cancel.
+ *
+ * Level 0 has one bucket per tick; each higher level covers {@code wheelSize} times the span of
+ * the level below. Timers are placed on the lowest level whose span reaches their deadline and
+ * cascade down as the wheel turns, so advancing costs O(1) per tick plus the timers that fire or
+ * move. Resolution is one tick: timers fire on the first {@link #advance} at or after their deadline.
+ *
+ * The wheel is passive; a driver such as {@link WheelTimer} calls {@link #advance} periodically.
+ *
+ * @param <T> payload carried by each timer
+ */
+public final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Bucket<T>[][] levels;
+    private final Bucket<T> due = new Bucket<>();
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis duration of one tick in milliseconds
+     * @param wheelSize  buckets per level; must be a power of two
+     * @param nowMillis  current time in epoch milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = new Bucket[(63 + bits - 1) / bits][];
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedule a timer.
+     *
+     * @param payload        the payload handed back when the timer fires
+     * @param deadlineMillis deadline in epoch milliseconds; past deadlines fire on the next advance
+     * @return a handle that can cancel the timer
+     */
+    public synchronized Timeout<T> schedule(T payload, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(this, payload, Math.ceilDiv(deadlineMillis, tickMillis));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Move the wheel to the given time and hand every expired payload to the consumer.
+     * The consumer runs after the wheel's lock is released, so it may schedule new timers.
+     *
+     * @param nowMillis  current time in epoch milliseconds
+     * @param onExpired  receives the payload of each expired timer
+     * @return the number of timers that fired
+     */
+    public int advance(long nowMillis, Consumer<? super T> onExpired) {
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            long target = nowMillis / tickMillis;
+            while (currentTick < target) {
+                currentTick++;
+                cascade(currentTick);
+                drain(due, expired);
+                Bucket<T>[] wheel = levels[0];
+                if (wheel != null) {
+                    drain(wheel[(int) (currentTick & mask)], expired);
+                }
+            }
+            drain(due, expired);
+        }
+        for (T payload : expired) {
+            onExpired.accept(payload);
+        }
+        return expired.size();
+    }
+
+    /**
+     * @return the number of pending timers
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        if (delta <= 0) {
+            due.add(timeout);
+            return;
+        }
+        int level = 0;
+        while (level < levels.length - 1 && (delta >>> (bits * (level + 1))) != 0) {
+            level++;
+        }
+        bucket(level, (int) ((timeout.deadlineTick >>> (bits * level)) & mask)).add(timeout);
+    }
+
+    private void cascade(long tick) {
+        int highest = 0;
+        while (highest + 1 < levels.length && (tick & ((1L << (bits * (highest + 1))) - 1)) == 0) {
+            highest++;
+        }
+        for (int level = highest; level >= 1; level--) {
+            Bucket<T>[] wheel = levels[level];
+            if (wheel == null) {
+                continue;
+            }
+            Bucket<T> bucket = wheel[(int) ((tick >>> (bits * level)) & mask)];
+            if (bucket == null) {
+                continue;
+            }
+            Timeout<T> timeout = bucket.head;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                bucket.remove(timeout);
+                place(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    private void drain(Bucket<T> bucket, List<T> expired) {
+        if (bucket == null) {
+            return;
+        }
+        Timeout<T> timeout = bucket.head;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            bucket.remove(timeout);
+            size--;
+            expired.add(timeout.payload);
+            timeout = next;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Bucket<T> bucket(int level, int index) {
+        Bucket<T>[] wheel = levels[level];
+        if (wheel == null) {
+            wheel = new Bucket[mask + 1];
+            levels[level] = wheel;
+        }
+        Bucket<T> bucket = wheel[index];
+        if (bucket == null) {
+            bucket = new Bucket<>();
+            wheel[index] = bucket;
+        }
+        return bucket;
+    }
+
+    private synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Handle of a scheduled timer.
+     *
+     * @param <T> payload type
+     */
+    public static final class Timeout<T> {
+        private final TimingWheel<T> wheel;
+        private final T payload;
+        private final long deadlineTick;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(TimingWheel<T> wheel, T payload, long deadlineTick) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * @return the payload of this timer
+         */
+        public T payload() {
+            return payload;
+        }
+
+        /**
+         * Cancel the timer.
+         *
+         * @return true if the timer was pending and will no longer fire
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.support;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Drives a {@link TimingWheel} of tasks from a single periodic tick.
+ *
+ * One ticker serves any number of timers, so tracking a large population of deadlines does not
+ * create a scheduled task per deadline. Tasks run on the ticker's thread and must not block;
+ * anything slow should be dispatched asynchronously.
+ */
+public final class WheelTimer implements AutoCloseable {
+
+    private final TimingWheel<Runnable> wheel;
+    private final Clock clock;
+    private final Disposable ticker;
+
+    /**
+     * @param tick      resolution of the timer
+     * @param wheelSize buckets per wheel level; must be a power of two
+     * @param clock     clock used for deadlines
+     * @param scheduler scheduler running the ticker
+     */
+    public WheelTimer(Duration tick, int wheelSize, Clock clock, Scheduler scheduler) {
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.wheel = new TimingWheel<>(tick.toMillis(), wheelSize, clock.millis());
+        this.ticker = Flux.interval(tick, tick, scheduler)
+                .subscribe(ignored -> wheel.advance(clock.millis(), WheelTimer::run));
+    }
+
+    /**
+     * @param task           the task to run
+     * @param deadlineMillis deadline in epoch milliseconds
+     * @return a handle that can cancel the task
+     */
+    public TimingWheel.Timeout<Runnable> schedule(Runnable task, long deadlineMillis) {
+        return wheel.schedule(task, deadlineMillis);
+    }
+
+    /**
+     * @return the clock deadlines are measured against
+     */
+    public Clock clock() {
+        return clock;
+    }
+
+    /**
+     * @return the number of pending tasks
+     */
+    public int pending() {
+        return wheel.size();
+    }
+
+    @Override
+    public void close() {
+        ticker.dispose();
+    }
+
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            // a failing task must not stop the ticker; tasks report their own errors
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.tenant;
+
+import com.firefly.idp.adapter.jwt.JwtClaimScanner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps the {@code iss} claim of a JWT to a tenant index without allocating.
+ *
+ * The claim is located with a {@link JwtClaimScanner}, and its bytes are looked up in an
+ * open-addressing table of the registered issuers' UTF-8 bytes. Non-JWT tokens, issuers with
+ * escapes other than escaped slashes and unknown issuers yield {@code -1}.
+ */
+final class IssuerIndex {
+
+    private final JwtClaimScanner scanner = new JwtClaimScanner(List.of("iss"));
+    private final byte[][] issuers;
+    private final int[] tenants;
+    private final int mask;
+
+    /**
+     * @param issuersByTenant issuer lists, indexed by tenant
+     */
+    IssuerIndex(List<List<String>> issuersByTenant) {
+        int count = issuersByTenant.stream().mapToInt(List::size).sum();
+        int size = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+        this.issuers = new byte[size][];
+        this.tenants = new int[size];
+        this.mask = size - 1;
+        for (int tenant = 0; tenant < issuersByTenant.size(); tenant++) {
+            for (String issuer : issuersByTenant.get(tenant)) {
+                byte[] bytes = issuer.getBytes(StandardCharsets.UTF_8);
+                int slot = hash(bytes, 0, bytes.length) & mask;
+                while (issuers[slot] != null && !Arrays.equals(issuers[slot], bytes)) {
+                    slot = (slot + 1) & mask;
+                }
+                if (issuers[slot] == null) {
+                    issuers[slot] = bytes;
+                    tenants[slot] = tenant;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the tenant index of the token's issuer, or -1
+     */
+    int find(String token) {
+        long location = scanner.find(token);
+        if (location < 0 || !JwtClaimScanner.isString(location)) {
+            return -1;
+        }
+        return lookup(scanner.buffer(), JwtClaimScanner.from(location), JwtClaimScanner.to(location));
+    }
+
+    private int lookup(byte[] bytes, int from, int to) {
+        int slot = hash(bytes, from, to) & mask;
+        while (issuers[slot] != null) {
+            if (Arrays.equals(issuers[slot], 0, issuers[slot].length, bytes, from, to)) {
+                return tenants[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int hash(byte[] bytes, int from, int to) {
+        int hash = 0x811c9dc5;
+        for (int i = from; i < to; i++) {
+            hash = (hash ^ (bytes[i] & 0xFF)) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
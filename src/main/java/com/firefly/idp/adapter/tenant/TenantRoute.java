@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.tenant;
+
+import com.firefly.idp.adapter.IdpAdapter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One tenant of a {@link TenantRoutingIdpAdapter}: a realm or provider with its own adapter stack.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantRoute {
+
+    /** Tenant id, matched against the Reactor context and {@code CreateRolesRequest.context}. */
+    private String tenantId;
+
+    /** Exact {@code iss} values of the tokens this tenant issues. */
+    @Builder.Default
+    private List<String> issuers = List.of();
+
+    /**
+     * The tenant's adapter. Give every tenant its own instance, with its own HTTP client and
+     * decorators, so that pools, limits, caches and metrics are not shared.
+     */
+    private IdpAdapter adapter;
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.tenant;
+
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.dtos.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * {@link IdpAdapter} that routes each call to the adapter of one tenant (realm or provider).
+ *
+ * The tenant a request is explicitly bound to is taken from {@code CreateRolesRequest.context} when
+ * it names a tenant, then from the Reactor context entry {@link #TENANT_KEY} (see
+ * {@link #withTenant(String)}). Calls carrying a token ({@code introspect}, {@code getUserInfo},
+ * {@code refresh}, {@code logout}, {@code revokeRefreshToken}) also look up the tenant whose issuer
+ * matches the token's {@code iss} claim, read without allocation. That claim is unverified, so it
+ * only routes requests with no explicit tenant; a token whose issuer belongs to a different tenant
+ * than the explicit one is refused rather than sent to its issuer's tenant. Otherwise the default
+ * tenant is used. A call that resolves to no tenant, or to conflicting ones, fails with a
+ * {@link ResponseStatusException}; {@code introspect} instead reports the token inactive.
+ * <p>
+ * Tenants are isolated only as far as their adapters are: build a separate stack per tenant, or
+ * pass a decorator factory to the constructor to wrap each tenant's adapter in its own limiter,
+ * cache and metrics instances.
+ */
+public class TenantRoutingIdpAdapter implements IdpAdapter {
+
+    /** Reactor context key holding the tenant id of the current request. */
+    public static final String TENANT_KEY = TenantRoutingIdpAdapter.class.getName() + ".tenant";
+
+    private static final IntrospectionResponse INACTIVE = IntrospectionResponse.builder().active(false).build();
+
+    private final IdpAdapter[] adapters;
+    private final Map<String, IdpAdapter> byTenantId = new HashMap<>();
+    private final IssuerIndex issuers;
+    private final IdpAdapter defaultAdapter;
+
+    /**
+     * @param defaultTenant tenant used when none can be resolved; {@code null} for none
+     */
+    public TenantRoutingIdpAdapter(List<TenantRoute> routes, String defaultTenant) {
+        this(routes, defaultTenant, (tenantId, adapter) -> adapter);
+    }
+
+    /**
+     * @param decorator builds each tenant's adapter stack around its base adapter, e.g. adding a
+     *                  per-tenant {@code ConcurrencyLimitingIdpAdapter} and {@code CachingIdpAdapter}
+     */
+    public TenantRoutingIdpAdapter(List<TenantRoute> routes, String defaultTenant,
+                                   BiFunction<String, IdpAdapter, IdpAdapter> decorator) {
+        this.adapters = new IdpAdapter[routes.size()];
+        List<List<String>> issuersByTenant = new ArrayList<>(routes.size());
+        for (int i = 0; i < routes.size(); i++) {
+            TenantRoute route = routes.get(i);
+            String tenantId = Objects.requireNonNull(route.getTenantId(), "tenantId");
+            adapters[i] = Objects.requireNonNull(decorator.apply(tenantId,
+                    Objects.requireNonNull(route.getAdapter(), "adapter")), "decorated adapter");
+            if (byTenantId.putIfAbsent(tenantId, adapters[i]) != null) {
+                throw new IllegalArgumentException("Duplicate tenant " + tenantId);
+            }
+            issuersByTenant.add(route.getIssuers() == null ? List.of() : route.getIssuers());
+        }
+        this.issuers = new IssuerIndex(issuersByTenant);
+        if (defaultTenant != null && !byTenantId.containsKey(defaultTenant)) {
+            throw new IllegalArgumentException("Unknown default tenant " + defaultTenant);
+        }
+        this.defaultAdapter = defaultTenant == null ? null : byTenantId.get(defaultTenant);
+    }
+
+    /**
+     * @return a context carrying the tenant id, for {@code contextWrite}
+     */
+    public static Context withTenant(String tenantId) {
+        return Context.of(TENANT_KEY, tenantId);
+    }
+
+    /**
+     * @return the adapter of a tenant, or {@code null}
+     */
+    public IdpAdapter tenant(String tenantId) {
+        return byTenantId.get(tenantId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<TokenResponse>> login(LoginRequest request) {
+        return route(null, null, adapter -> adapter.login(request));
+    }
+
+    @Override
+    public Mono<ResponseEntity<TokenResponse>> refresh(RefreshRequest request) {
+        return route(request.getRefreshToken(), null, adapter -> adapter.refresh(request));
+    }
+
+    @Override
+    public Mono<Void> logout(LogoutRequest request) {
+        String token = request.getAccessToken() != null ? request.getAccessToken() : request.getRefreshToken();
+        return route(token, null, adapter -> adapter.logout(request));
+    }
+
+    @Override
+    public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+        return Mono.deferContextual(context -> {
+            IdpAdapter adapter = resolve(accessToken, null, context);
+            return adapter == null ? Mono.just(ResponseEntity.ok(INACTIVE)) : adapter.introspect(accessToken);
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<UserInfoResponse>> getUserInfo(String accessToken) {
+        return route(accessToken, null, adapter -> adapter.getUserInfo(accessToken));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateUserResponse>> createUser(CreateUserRequest request) {
+        return route(null, null, adapter -> adapter.createUser(request));
+    }
+
+    @Override
+    public Mono<Void> changePassword(ChangePasswordRequest request) {
+        return route(null, null, adapter -> adapter.changePassword(request));
+    }
+
+    @Override
+    public Mono<Void> resetPassword(String username) {
+        return route(null, null, adapter -> adapter.resetPassword(username));
+    }
+
+    @Override
+    public Mono<ResponseEntity<MfaChallengeResponse>> mfaChallenge(String username) {
+        return route(null, null, adapter -> adapter.mfaChallenge(username));
+    }
+
+    @Override
+    public Mono<Void> mfaVerify(MfaVerifyRequest request) {
+        return route(null, null, adapter -> adapter.mfaVerify(request));
+    }
+
+    @Override
+    public Mono<Void> revokeRefreshToken(String refreshToken) {
+        return route(refreshToken, null, adapter -> adapter.revokeRefreshToken(refreshToken));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<SessionInfo>>> listSessions(String userId) {
+        return route(null, null, adapter -> adapter.listSessions(userId));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<SessionInfo>>> listSessions(String userId, int offset, int limit) {
+        return route(null, null, adapter -> adapter.listSessions(userId, offset, limit));
+    }
+
+    @Override
+    public Mono<Void> revokeSession(String sessionId) {
+        return route(null, null, adapter -> adapter.revokeSession(sessionId));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<String>>> getRoles(String userId) {
+        return route(null, null, adapter -> adapter.getRoles(userId));
+    }
+
+    @Override
+    public Mono<Void> deleteUser(String userId) {
+        return route(null, null, adapter -> adapter.deleteUser(userId));
+    }
+
+    @Override
+    public Mono<ResponseEntity<UpdateUserResponse>> updateUser(UpdateUserRequest request) {
+        return route(null, null, adapter -> adapter.updateUser(request));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateRolesResponse>> createRoles(CreateRolesRequest request) {
+        return route(null, request.getContext(), adapter -> adapter.createRoles(request));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateScopeResponse>> createScope(CreateScopeRequest request) {
+        return route(null, null, adapter -> adapter.createScope(request));
+    }
+
+    @Override
+    public Mono<Void> assignRolesToUser(AssignRolesRequest request) {
+        return route(null, null, adapter -> adapter.assignRolesToUser(request));
+    }
+
+    @Override
+    public Mono<Void> removeRolesFromUser(AssignRolesRequest request) {
+        return route(null, null, adapter -> adapter.removeRolesFromUser(request));
+    }
+
+    private <T> Mono<T> route(String token, String requestTenant, Function<IdpAdapter, Mono<T>> call) {
+        return Mono.deferContextual(context -> {
+            IdpAdapter adapter = resolve(token, requestTenant, context);
+            if (adapter == null) {
+                return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "No IdP tenant for the request"));
+            }
+            return call.apply(adapter);
+        });
+    }
+
+    /**
+     * @return the tenant's adapter, or {@code null} if there is none or the token's issuer belongs to
+     *         another tenant than the one the request is bound to
+     */
+    private IdpAdapter resolve(String token, String requestTenant, ContextView context) {
+        IdpAdapter explicit = requestTenant == null ? null : byTenantId.get(requestTenant);
+        if (explicit == null) {
+            String contextTenant = context.getOrDefault(TENANT_KEY, null);
+            explicit = contextTenant == null ? null : byTenantId.get(contextTenant);
+        }
+        int tenant = token == null ? -1 : issuers.find(token);
+        if (explicit != null) {
+            return tenant >= 0 && adapters[tenant] != explicit ? null : explicit;
+        }
+        return tenant >= 0 ? adapters[tenant] : defaultAdapter;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.token;
+
+import com.firefly.idp.adapter.support.HttpStatuses;
+import com.firefly.idp.adapter.support.SingleFlight;
+import com.firefly.idp.dtos.TokenResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Shared cache of the privileged token used by an adapter's management operations.
+ *
+ * Callers get the cached token without any I/O. Within {@code refreshAhead} of expiry the token is
+ * still handed out while one background fetch replaces it; once expired, callers wait for a fetch.
+ * All fetches go through a single flight, so any number of concurrent callers cause one call to the
+ * token endpoint. {@link #withToken(Function)} retries a call once with a fresh token when it is
+ * answered with 401, and concurrent 401s for the same token trigger only one forced refresh.
+ */
+public class AdminTokenProvider {
+
+    private static final String FLIGHT = "admin";
+
+    private final AdminTokenSource source;
+    private final AdminTokenProperties properties;
+    private final Clock clock;
+    private final SingleFlight<String, CachedToken> fetches = new SingleFlight<>();
+    private volatile CachedToken current;
+
+    public AdminTokenProvider(AdminTokenSource source) {
+        this(source, AdminTokenProperties.builder().build(), Clock.systemUTC());
+    }
+
+    public AdminTokenProvider(AdminTokenSource source, AdminTokenProperties properties, Clock clock) {
+        this.source = Objects.requireNonNull(source, "source");
+        this.properties = Objects.requireNonNull(properties, "properties");
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    /**
+     * @return the current access token, fetching one only when none is valid
+     */
+    public Mono<String> accessToken() {
+        return Mono.defer(() -> {
+            CachedToken token = current;
+            long now = clock.millis();
+            if (token == null || now >= token.expiresAt) {
+                return fetch().map(fresh -> fresh.value);
+            }
+            if (now >= token.refreshAt) {
+                fetch().subscribe(fresh -> { }, error -> { });
+            }
+            return Mono.just(token.value);
+        });
+    }
+
+    /**
+     * Run a management call with the admin token, retrying once with a fresh token if the call
+     * fails with, or answers, 401.
+     */
+    public <T> Mono<T> withToken(Function<String, Mono<T>> call) {
+        // Only the first attempt's outcome is inspected, so the retry's own 401 is returned as is.
+        return accessToken().flatMap(token -> Mono.defer(() -> call.apply(token))
+                .materialize()
+                .flatMap(signal -> isUnauthorized(signal)
+                        ? retry(token, call)
+                        : Mono.just(signal).<T>dematerialize()));
+    }
+
+    /**
+     * Drop the token so the next caller fetches a new one, unless it was already replaced.
+     */
+    public void invalidate(String rejected) {
+        CachedToken token = current;
+        if (token != null && token.value.equals(rejected)) {
+            current = null;
+        }
+    }
+
+    /**
+     * @return the number of token endpoint calls made
+     */
+    public long getFetches() {
+        return fetches.getCalls() - fetches.getCoalesced();
+    }
+
+    private <T> Mono<T> retry(String rejected, Function<String, Mono<T>> call) {
+        invalidate(rejected);
+        return accessToken().flatMap(call);
+    }
+
+    private Mono<CachedToken> fetch() {
+        return fetches.execute(FLIGHT, () -> source.fetch()
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED,
+                        "Admin token endpoint returned no token")))
+                .map(this::cache));
+    }
+
+    private CachedToken cache(TokenResponse response) {
+        if (response.getAccessToken() == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Admin token response has no access token");
+        }
+        long now = clock.millis();
+        long lifetime = response.getExpiresIn() != null
+                ? response.getExpiresIn() * 1000L
+                : properties.getDefaultLifetime().toMillis();
+        long expiresAt = now + lifetime;
+        long refreshAt = Math.max(now + lifetime / 2, expiresAt - properties.getRefreshAhead().toMillis());
+        CachedToken token = new CachedToken(response.getAccessToken(), refreshAt, expiresAt);
+        current = token;
+        return token;
+    }
+
+    private static boolean isUnauthorized(Signal<?> signal) {
+        return signal.isOnError()
+                ? HttpStatuses.statusOf(signal.getThrowable()) == HttpStatus.UNAUTHORIZED.value()
+                : isUnauthorized(signal.get());
+    }
+
+    private static boolean isUnauthorized(Object result) {
+        return result instanceof ResponseEntity<?> response
+                && response.getStatusCode().value() == HttpStatus.UNAUTHORIZED.value();
+    }
+
+    private static final class CachedToken {
+        final String value;
+        final long refreshAt;
+        final long expiresAt;
+
+        CachedToken(String value, long refreshAt, long expiresAt) {
+            this.value = value;
+            this.refreshAt = refreshAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
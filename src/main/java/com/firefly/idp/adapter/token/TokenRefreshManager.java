@@ -0,0 +1,244 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.token;
+
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.support.SingleFlight;
+import com.firefly.idp.adapter.support.TimingWheel;
+import com.firefly.idp.adapter.support.WheelTimer;
+import com.firefly.idp.dtos.LoginRequest;
+import com.firefly.idp.dtos.RefreshRequest;
+import com.firefly.idp.dtos.TokenResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps tracked tokens fresh by refreshing them ahead of expiry.
+ *
+ * Each tracked {@link TokenResponse} is scheduled for {@link IdpAdapter#refresh(RefreshRequest)}
+ * shortly before it expires, with random jitter so tokens obtained together do not refresh
+ * together. All deadlines share one {@link WheelTimer}, so hundreds of thousands of tokens cost a
+ * timer entry each rather than a scheduled task each. Concurrent refreshes of the same token
+ * collapse into a single call, and failed refreshes are retried until the token expires. Tokens
+ * without a refresh token or {@code expiresIn} are tracked but never refreshed.
+ */
+public class TokenRefreshManager implements AutoCloseable {
+
+    private final IdpAdapter adapter;
+    private final TokenRefreshProperties properties;
+    private final WheelTimer timer;
+    private final boolean ownsTimer;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, TrackedToken> tokens = new ConcurrentHashMap<>();
+    private final SingleFlight<String, TokenResponse> refreshes = new SingleFlight<>();
+
+    public TokenRefreshManager(IdpAdapter adapter) {
+        this(adapter, TokenRefreshProperties.builder().build());
+    }
+
+    public TokenRefreshManager(IdpAdapter adapter, TokenRefreshProperties properties) {
+        this(adapter, properties, new WheelTimer(properties.getTick(), properties.getWheelSize(),
+                Clock.systemUTC(), Schedulers.parallel()), true);
+    }
+
+    /**
+     * Create a manager on a shared timer; closing the manager leaves the timer running.
+     */
+    public TokenRefreshManager(IdpAdapter adapter, TokenRefreshProperties properties, WheelTimer timer) {
+        this(adapter, properties, timer, false);
+    }
+
+    private TokenRefreshManager(IdpAdapter adapter, TokenRefreshProperties properties, WheelTimer timer,
+                                boolean ownsTimer) {
+        this.adapter = Objects.requireNonNull(adapter, "adapter");
+        this.properties = Objects.requireNonNull(properties, "properties");
+        this.timer = Objects.requireNonNull(timer, "timer");
+        this.ownsTimer = ownsTimer;
+        this.clock = timer.clock();
+    }
+
+    /**
+     * Log in and track the resulting tokens.
+     *
+     * @param key     caller-chosen identifier of the token holder (e.g. a service or session id)
+     * @param request the login request
+     * @return a reactive publisher with the obtained tokens
+     */
+    public Mono<TokenResponse> login(String key, LoginRequest request) {
+        return adapter.login(request)
+                .flatMap(response -> body(response, "Login failed"))
+                .doOnNext(obtained -> track(key, obtained));
+    }
+
+    /**
+     * Start tracking tokens, replacing anything tracked under the same key.
+     *
+     * @param key    caller-chosen identifier of the token holder
+     * @param tokens tokens obtained from {@code login} or {@code refresh}
+     */
+    public void track(String key, TokenResponse tokens) {
+        Objects.requireNonNull(tokens, "tokens");
+        TrackedToken tracked = new TrackedToken();
+        TrackedToken previous = this.tokens.put(key, tracked);
+        if (previous != null) {
+            previous.cancel();
+        }
+        update(key, tracked, tokens);
+    }
+
+    /**
+     * Current tokens for a key, refreshed first if they have already expired.
+     *
+     * @param key the token holder
+     * @return a reactive publisher with the tokens, or empty when the key is not tracked
+     */
+    public Mono<TokenResponse> getTokens(String key) {
+        return Mono.defer(() -> {
+            TrackedToken tracked = tokens.get(key);
+            if (tracked == null) {
+                return Mono.empty();
+            }
+            return clock.millis() < tracked.expiresAtMillis ? Mono.just(tracked.tokens) : refresh(key);
+        });
+    }
+
+    /**
+     * Refresh now, joining a refresh that is already running for the key.
+     *
+     * @param key the token holder
+     * @return a reactive publisher with the refreshed tokens, or empty when the key is not tracked
+     */
+    public Mono<TokenResponse> refresh(String key) {
+        return refreshes.execute(key, () -> {
+            TrackedToken tracked = tokens.get(key);
+            if (tracked == null) {
+                return Mono.empty();
+            }
+            TokenResponse current = tracked.tokens;
+            if (current.getRefreshToken() == null) {
+                return Mono.error(new IllegalStateException("No refresh token tracked for " + key));
+            }
+            return adapter.refresh(RefreshRequest.builder().refreshToken(current.getRefreshToken()).build())
+                    .flatMap(response -> body(response, "Token refresh failed"))
+                    .map(fresh -> withRefreshToken(fresh, current.getRefreshToken()))
+                    .doOnNext(fresh -> {
+                        if (tokens.get(key) == tracked) {
+                            update(key, tracked, fresh);
+                        }
+                    })
+                    .doOnError(e -> scheduleRetry(key, tracked));
+        });
+    }
+
+    /**
+     * Stop tracking a key and cancel its pending refresh.
+     *
+     * @param key the token holder
+     */
+    public void untrack(String key) {
+        TrackedToken removed = tokens.remove(key);
+        if (removed != null) {
+            removed.cancel();
+        }
+    }
+
+    /**
+     * @return the number of tracked token holders
+     */
+    public int size() {
+        return tokens.size();
+    }
+
+    @Override
+    public void close() {
+        tokens.values().forEach(TrackedToken::cancel);
+        tokens.clear();
+        if (ownsTimer) {
+            timer.close();
+        }
+    }
+
+    private void update(String key, TrackedToken tracked, TokenResponse fresh) {
+        long now = clock.millis();
+        Long expiresIn = fresh.getExpiresIn();
+        tracked.tokens = fresh;
+        tracked.expiresAtMillis = expiresIn == null ? Long.MAX_VALUE : now + expiresIn * 1000L;
+        if (expiresIn == null || fresh.getRefreshToken() == null) {
+            tracked.cancel();
+            return;
+        }
+        long lifetime = expiresIn * 1000L;
+        long lead = Math.min(properties.getRefreshAhead().toMillis(), lifetime / 2);
+        long jitterBound = Math.min(properties.getMaxJitter().toMillis(), lead);
+        long jitter = jitterBound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(jitterBound);
+        schedule(key, tracked, tracked.expiresAtMillis - lead - jitter);
+    }
+
+    private void scheduleRetry(String key, TrackedToken tracked) {
+        long retryAt = clock.millis() + properties.getRetryDelay().toMillis();
+        if (tokens.get(key) == tracked && retryAt < tracked.expiresAtMillis) {
+            schedule(key, tracked, retryAt);
+        }
+    }
+
+    private void schedule(String key, TrackedToken tracked, long deadlineMillis) {
+        tracked.cancel();
+        tracked.timeout = timer.schedule(() -> refresh(key).subscribe(fresh -> { }, error -> { }), deadlineMillis);
+    }
+
+    private static Mono<TokenResponse> body(ResponseEntity<TokenResponse> response, String message) {
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            return Mono.just(response.getBody());
+        }
+        return Mono.error(new ResponseStatusException(response.getStatusCode(), message));
+    }
+
+    private static TokenResponse withRefreshToken(TokenResponse fresh, String previousRefreshToken) {
+        if (fresh.getRefreshToken() != null) {
+            return fresh;
+        }
+        return TokenResponse.builder()
+                .accessToken(fresh.getAccessToken())
+                .refreshToken(previousRefreshToken)
+                .idToken(fresh.getIdToken())
+                .tokenType(fresh.getTokenType())
+                .expiresIn(fresh.getExpiresIn())
+                .scope(fresh.getScope())
+                .build();
+    }
+
+    private static final class TrackedToken {
+        volatile TokenResponse tokens;
+        volatile long expiresAtMillis;
+        volatile TimingWheel.Timeout<Runnable> timeout;
+
+        void cancel() {
+            TimingWheel.Timeout<Runnable> pending = timeout;
+            if (pending != null) {
+                pending.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.adapter.token;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link TokenRefreshManager}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRefreshProperties {
+
+    /** How long before expiry a refresh is attempted; capped at half the token lifetime. */
+    @Builder.Default
+    private Duration refreshAhead = Duration.ofSeconds(30);
+
+    /** Upper bound of the random extra lead that spreads refreshes of tokens issued together. */
+    @Builder.Default
+    private Duration maxJitter = Duration.ofSeconds(10);
+
+    /** Delay before retrying a failed refresh, as long as the token has not expired. */
+    @Builder.Default
+    private Duration retryDelay = Duration.ofSeconds(5);
+
+    /** Resolution of the refresh timer. */
+    @Builder.Default
+    private Duration tick = Duration.ofMillis(100);
+
+    /** Buckets per timer wheel level; must be a power of two. */
+    @Builder.Default
+    private int wheelSize = 512;
+}
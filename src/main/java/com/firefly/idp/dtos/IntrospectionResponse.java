@@ -18,19 +18,20 @@
 package com.firefly.idp.dtos;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.firefly.idp.dtos.enums.UserRoleEnum;
-import lombok.AllArgsConstructor;
+import com.firefly.idp.dtos.scope.ScopeSet;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.List;
 import java.util.UUID;
 
 @Data
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
 public class IntrospectionResponse {
     private boolean active;
     private String scope;
@@ -44,4 +45,30 @@ public class IntrospectionResponse {
     private String jti;
     private UUID partyId;
     private UserRoleEnum userRole;
+
+    /** {@link #scope} parsed against a scope registry; derived, so not serialized or compared. */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private ScopeSet scopeSet;
+
+    /**
+     * All-args constructor for the IdP-reported fields. Written out so the derived
+     * {@link #scopeSet} stays out of both it and the builder.
+     */
+    @Builder
+    public IntrospectionResponse(boolean active, String scope, String username, Long exp, Long iat, String sub,
+                                 List<String> aud, String iss, String jti, UUID partyId, UserRoleEnum userRole) {
+        this.active = active;
+        this.scope = scope;
+        this.username = username;
+        this.exp = exp;
+        this.iat = iat;
+        this.sub = sub;
+        this.aud = aud;
+        this.iss = iss;
+        this.jti = jti;
+        this.partyId = partyId;
+        this.userRole = userRole;
+    }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.dtos.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.firefly.idp.dtos.IntrospectionResponse;
+import com.firefly.idp.dtos.TokenResponse;
+
+/**
+ * Jackson module registering the streaming deserializers for the DTOs parsed on every request.
+ *
+ * Register it on the {@code ObjectMapper} used to read provider responses (in Spring Boot,
+ * exposing it as a bean is enough). Unlike default binding, unknown fields are always skipped.
+ */
+public class IdpJacksonModule extends SimpleModule {
+
+    /** Default number of interned string slots. */
+    public static final int DEFAULT_INTERNER_CAPACITY = 4096;
+
+    public IdpJacksonModule() {
+        this(new StringInterner(DEFAULT_INTERNER_CAPACITY));
+    }
+
+    public IdpJacksonModule(StringInterner interner) {
+        super("IdpJacksonModule");
+        addDeserializer(TokenResponse.class, new TokenResponseDeserializer(interner));
+        addDeserializer(IntrospectionResponse.class, new IntrospectionResponseDeserializer(interner));
+    }
+}
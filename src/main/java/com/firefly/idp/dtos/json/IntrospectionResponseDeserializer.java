@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.dtos.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.firefly.idp.dtos.IntrospectionResponse;
+import com.firefly.idp.dtos.enums.UserRoleEnum;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streaming deserializer for {@link IntrospectionResponse}.
+ *
+ * Reads the RFC 7662 response field by field without reflection. {@code iss}, {@code scope} and
+ * {@code aud} are interned, a single-valued {@code aud} maps to a shared one-element list, and
+ * claims the DTO does not model are skipped without building trees. {@code aud} is always read
+ * into an unmodifiable list.
+ */
+public class IntrospectionResponseDeserializer extends StdDeserializer<IntrospectionResponse> {
+
+    private final StringInterner interner;
+
+    public IntrospectionResponseDeserializer(StringInterner interner) {
+        super(IntrospectionResponse.class);
+        this.interner = interner;
+    }
+
+    @Override
+    public IntrospectionResponse deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT && parser.currentToken() != JsonToken.FIELD_NAME) {
+            return (IntrospectionResponse) context.handleUnexpectedToken(IntrospectionResponse.class, parser);
+        }
+        IntrospectionResponse response = new IntrospectionResponse();
+        for (JsonToken token = JsonValues.firstField(parser); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "active" -> response.setActive(value != JsonToken.VALUE_NULL && parser.getValueAsBoolean());
+                case "scope" -> response.setScope(JsonValues.internedText(parser, interner));
+                case "username" -> response.setUsername(JsonValues.text(parser));
+                case "exp" -> response.setExp(JsonValues.nullableLong(parser));
+                case "iat" -> response.setIat(JsonValues.nullableLong(parser));
+                case "sub" -> response.setSub(JsonValues.text(parser));
+                case "aud" -> response.setAud(audience(parser, value));
+                case "iss" -> response.setIss(JsonValues.internedText(parser, interner));
+                case "jti" -> response.setJti(JsonValues.text(parser));
+                case "partyId" -> response.setPartyId(partyId(parser, context));
+                case "userRole" -> response.setUserRole(userRole(parser, context));
+                default -> parser.skipChildren();
+            }
+        }
+        return response;
+    }
+
+    private List<String> audience(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value != JsonToken.START_ARRAY) {
+            return interner.singletonList(JsonValues.internedText(parser, interner));
+        }
+        List<String> audience = new ArrayList<>(2);
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            audience.add(JsonValues.internedText(parser, interner));
+        }
+        return audience.size() == 1 && audience.get(0) != null
+                ? interner.singletonList(audience.get(0))
+                : Collections.unmodifiableList(audience);
+    }
+
+    private static UUID partyId(JsonParser parser, DeserializationContext context) throws IOException {
+        String text = JsonValues.text(parser);
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(text);
+        } catch (IllegalArgumentException e) {
+            throw context.weirdStringException(text, UUID.class, "not a valid UUID");
+        }
+    }
+
+    private UserRoleEnum userRole(JsonParser parser, DeserializationContext context) throws IOException {
+        String text = JsonValues.internedText(parser, interner);
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return UserRoleEnum.valueOf(text);
+        } catch (IllegalArgumentException e) {
+            throw context.weirdStringException(text, UserRoleEnum.class, "not one of the declared roles");
+        }
+    }
+}
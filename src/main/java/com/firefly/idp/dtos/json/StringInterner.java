@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.dtos.json;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, lock-free table of canonical strings for values that repeat across responses,
+ * such as issuers, audiences, scopes and token types.
+ *
+ * Lookups hash the parser's character buffer directly, so a hit returns the canonical instance
+ * without allocating. When every probed slot is taken by another value, the value's home slot (the
+ * first one probed) is overwritten; memory stays fixed, and an evicted hot value is reinstated the
+ * next time it is seen.
+ */
+public final class StringInterner {
+
+    private static final int MAX_PROBES = 4;
+    private static final int MAX_LENGTH = 256;
+
+    private final AtomicReferenceArray<String> strings;
+    private final AtomicReferenceArray<List<String>> singletons;
+    private final int mask;
+
+    /**
+     * @param capacity number of slots; rounded up to a power of two
+     */
+    public StringInterner(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity - 1)) << 1;
+        this.strings = new AtomicReferenceArray<>(size);
+        this.singletons = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @param chars  buffer holding the characters
+     * @param offset start of the value in the buffer
+     * @param length length of the value
+     * @return the canonical string with these characters
+     */
+    public String intern(char[] chars, int offset, int length) {
+        if (length > MAX_LENGTH) {
+            return new String(chars, offset, length);
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[offset + i];
+        }
+        int start = spread(hash);
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int slot = (start + probe) & mask;
+            String candidate = strings.get(slot);
+            if (candidate == null) {
+                String created = new String(chars, offset, length);
+                strings.lazySet(slot, created);
+                return created;
+            }
+            if (candidate.hashCode() == hash && matches(candidate, chars, offset, length)) {
+                return candidate;
+            }
+        }
+        String created = new String(chars, offset, length);
+        strings.lazySet(start & mask, created);
+        return created;
+    }
+
+    /**
+     * @param value a string
+     * @return the canonical string equal to the value
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        return intern(value.toCharArray(), 0, value.length());
+    }
+
+    /**
+     * @param value a canonical string returned by this interner
+     * @return a shared immutable single-element list holding the value
+     */
+    public List<String> singletonList(String value) {
+        int slot = spread(value.hashCode()) & mask;
+        List<String> candidate = singletons.get(slot);
+        if (candidate != null && candidate.get(0).equals(value)) {
+            return candidate;
+        }
+        List<String> created = List.of(value);
+        singletons.lazySet(slot, created);
+        return created;
+    }
+
+    private static boolean matches(String candidate, char[] chars, int offset, int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.dtos.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.firefly.idp.dtos.TokenResponse;
+
+import java.io.IOException;
+
+/**
+ * Streaming deserializer for {@link TokenResponse}.
+ *
+ * Reads the token endpoint response field by field without reflection, interns {@code token_type}
+ * and {@code scope}, and skips unknown fields without building trees.
+ */
+public class TokenResponseDeserializer extends StdDeserializer<TokenResponse> {
+
+    private final StringInterner interner;
+
+    public TokenResponseDeserializer(StringInterner interner) {
+        super(TokenResponse.class);
+        this.interner = interner;
+    }
+
+    @Override
+    public TokenResponse deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT && parser.currentToken() != JsonToken.FIELD_NAME) {
+            return (TokenResponse) context.handleUnexpectedToken(TokenResponse.class, parser);
+        }
+        TokenResponse response = new TokenResponse();
+        for (JsonToken token = JsonValues.firstField(parser); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "access_token" -> response.setAccessToken(JsonValues.text(parser));
+                case "refresh_token" -> response.setRefreshToken(JsonValues.text(parser));
+                case "id_token" -> response.setIdToken(JsonValues.text(parser));
+                case "token_type" -> response.setTokenType(JsonValues.internedText(parser, interner));
+                case "expires_in" -> response.setExpiresIn(JsonValues.nullableLong(parser));
+                case "scope" -> response.setScope(JsonValues.internedText(parser, interner));
+                default -> parser.skipChildren();
+            }
+        }
+        return response;
+    }
+}
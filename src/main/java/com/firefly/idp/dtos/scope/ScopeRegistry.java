@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.dtos.scope;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Assigns each known OAuth scope a bit index for {@link ScopeSet}.
+ *
+ * Lookups read an immutable open-addressing table and match scope names directly against a region
+ * of the caller's string, so parsing a scope claim does not allocate per scope. Registration is rare
+ * (startup and {@code createScope}) and copies the table. Indexes are never reused; once
+ * {@code capacity} scopes are registered further ones stay unknown and are handled by the string
+ * fallback of {@link ScopeSet}.
+ */
+public final class ScopeRegistry {
+
+    /** Default number of scopes that can be registered. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private volatile Table table = new Table(new String[0]);
+
+    public ScopeRegistry() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ScopeRegistry(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    public ScopeRegistry(Collection<String> scopes) {
+        this(Math.max(DEFAULT_CAPACITY, scopes.size()));
+        scopes.forEach(this::register);
+    }
+
+    /**
+     * @return the scope's bit index, or -1 if the registry is full
+     */
+    public synchronized int register(String scope) {
+        int existing = indexOf(scope);
+        if (existing >= 0 || table.names.length >= capacity) {
+            return existing;
+        }
+        String[] names = Arrays.copyOf(table.names, table.names.length + 1);
+        names[names.length - 1] = scope;
+        table = new Table(names);
+        return names.length - 1;
+    }
+
+    /**
+     * @return the scope's bit index, or -1 when unknown
+     */
+    public int indexOf(String scope) {
+        return indexOf(scope, 0, scope.length());
+    }
+
+    /**
+     * @return the bit index of the scope spelled by {@code text[from, to)}, or -1 when unknown
+     */
+    public int indexOf(String text, int from, int to) {
+        return table.find(text, from, to);
+    }
+
+    /**
+     * @return the name registered at an index
+     */
+    public String nameOf(int index) {
+        return table.names[index];
+    }
+
+    /**
+     * @return the number of registered scopes
+     */
+    public int size() {
+        return table.names.length;
+    }
+
+    /**
+     * Parse a space-delimited scope claim. Scopes not registered are not added to the registry;
+     * the set falls back to the claim text for them.
+     */
+    public ScopeSet parse(String scopes) {
+        return ScopeSet.parse(this, scopes);
+    }
+
+    /**
+     * Build a set of required scopes, registering any that are unknown so checks against it are
+     * pure bit operations. Meant for sets built once, e.g. at startup.
+     */
+    public ScopeSet compile(String... scopes) {
+        for (String scope : scopes) {
+            register(scope);
+        }
+        return ScopeSet.parse(this, String.join(" ", scopes));
+    }
+
+    private static final class Table {
+        private final String[] names;
+        private final String[] slots;
+        private final int[] indexes;
+        private final int mask;
+
+        Table(String[] names) {
+            this.names = names;
+            int size = Integer.highestOneBit(Math.max(2, names.length * 2 - 1)) << 1;
+            this.slots = new String[size];
+            this.indexes = new int[size];
+            this.mask = size - 1;
+            for (int i = 0; i < names.length; i++) {
+                int slot = spread(names[i].hashCode()) & mask;
+                while (slots[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = names[i];
+                indexes[slot] = i;
+            }
+        }
+
+        int find(String text, int from, int to) {
+            int hash = 0;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + text.charAt(i);
+            }
+            int length = to - from;
+            for (int slot = spread(hash) & mask; slots[slot] != null; slot = (slot + 1) & mask) {
+                String name = slots[slot];
+                if (name.length() == length && name.regionMatches(0, text, from, length)) {
+                    return indexes[slot];
+                }
+            }
+            return -1;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
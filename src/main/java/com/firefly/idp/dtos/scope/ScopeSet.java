@@ -0,0 +1,191 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.idp.dtos.scope;
+
+import java.util.Objects;
+
+/**
+ * Immutable set of OAuth scopes stored as a bitset over a {@link ScopeRegistry}.
+ *
+ * Membership checks on registered scopes are bit operations that do not allocate. Scopes that were
+ * not registered when the set was parsed make the set incomplete; checks then fall back to
+ * scanning the original space-delimited text, so results are always exact.
+ */
+public final class ScopeSet {
+
+    private final ScopeRegistry registry;
+    private final long[] bits;
+    private final String source;
+    private final boolean complete;
+
+    private ScopeSet(ScopeRegistry registry, long[] bits, String source, boolean complete) {
+        this.registry = registry;
+        this.bits = bits;
+        this.source = source;
+        this.complete = complete;
+    }
+
+    static ScopeSet parse(ScopeRegistry registry, String scopes) {
+        String source = scopes == null ? "" : scopes;
+        long[] bits = new long[(registry.size() + 63) >>> 6];
+        boolean complete = true;
+        int length = source.length();
+        int from = 0;
+        while (from < length) {
+            int to = source.indexOf(' ', from);
+            if (to < 0) {
+                to = length;
+            }
+            if (to > from) {
+                int index = registry.indexOf(source, from, to);
+                if (index < 0 || (index >>> 6) >= bits.length) {
+                    complete = false;
+                } else {
+                    bits[index >>> 6] |= 1L << index;
+                }
+            }
+            from = to + 1;
+        }
+        return new ScopeSet(registry, bits, source, complete);
+    }
+
+    /**
+     * @return whether the set contains the scope
+     */
+    public boolean contains(String scope) {
+        return contains(scope, 0, scope.length());
+    }
+
+    /**
+     * @return whether the set contains every scope of {@code required}
+     */
+    public boolean containsAll(ScopeSet required) {
+        if (!required.complete) {
+            return everyToken(required.source);
+        }
+        long[] other = required.bits;
+        for (int word = 0; word < other.length; word++) {
+            long missing = other[word] & ~(word < bits.length ? bits[word] : 0);
+            while (missing != 0) {
+                if (complete || !containsToken(registry.nameOf((word << 6) + Long.numberOfTrailingZeros(missing)))) {
+                    return false;
+                }
+                missing &= missing - 1;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return whether the set contains at least one scope of {@code candidates}
+     */
+    public boolean containsAny(ScopeSet candidates) {
+        long[] other = candidates.bits;
+        for (int word = 0; word < Math.min(other.length, bits.length); word++) {
+            if ((other[word] & bits[word]) != 0) {
+                return true;
+            }
+        }
+        if (complete && candidates.complete) {
+            return false;
+        }
+        String text = candidates.source;
+        int length = text.length();
+        for (int from = 0; from < length; ) {
+            int to = text.indexOf(' ', from);
+            if (to < 0) {
+                to = length;
+            }
+            if (to > from && contains(text, from, to)) {
+                return true;
+            }
+            from = to + 1;
+        }
+        return false;
+    }
+
+    /**
+     * @return whether every scope of the set was registered when it was parsed
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return the space-delimited scopes the set was parsed from
+     */
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ScopeSet other && registry == other.registry && source.equals(other.source);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(registry), source);
+    }
+
+    private boolean contains(String text, int from, int to) {
+        int index = registry.indexOf(text, from, to);
+        if (index >= 0 && (index >>> 6) < bits.length && (bits[index >>> 6] & (1L << index)) != 0) {
+            return true;
+        }
+        return !complete && containsToken(text, from, to);
+    }
+
+    private boolean everyToken(String text) {
+        int length = text.length();
+        for (int from = 0; from < length; ) {
+            int to = text.indexOf(' ', from);
+            if (to < 0) {
+                to = length;
+            }
+            if (to > from && !contains(text, from, to)) {
+                return false;
+            }
+            from = to + 1;
+        }
+        return true;
+    }
+
+    private boolean containsToken(String scope) {
+        return containsToken(scope, 0, scope.length());
+    }
+
+    private boolean containsToken(String text, int from, int to) {
+        int length = to - from;
+        int position = 0;
+        while (position <= source.length() - length) {
+            int found = source.indexOf(text.charAt(from), position);
+            if (found < 0 || found > source.length() - length) {
+                return false;
+            }
+            if ((found == 0 || source.charAt(found - 1) == ' ')
+                    && (found + length == source.length() || source.charAt(found + length) == ' ')
+                    && source.regionMatches(found, text, from, length)) {
+                return true;
+            }
+            position = found + 1;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.idp.adapter.cache.tiered;
+
+import com.firefly.idp.dtos.IntrospectionResponse;
+import com.firefly.idp.dtos.UserInfoResponse;
+import com.firefly.idp.dtos.enums.UserRoleEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CacheCodecsTest {
+
+    @Test
+    void introspectionRoundTripKeepsEveryField() {
+        IntrospectionResponse response = IntrospectionResponse.builder()
+                .active(true)
+                .scope("openid profile")
+                .username("alice")
+                .exp(1_900_000_000L)
+                .iat(1_800_000_000L)
+                .sub("user-1")
+                .aud(List.of("gateway", "billing", ""))
+                .iss("https://idp.example.com/realms/main")
+                .jti("token-1")
+                .partyId(UUID.randomUUID())
+                .userRole(UserRoleEnum.SUPER_AGENT)
+                .build();
+
+        assertEquals(response, roundTrip(response));
+    }
+
+    @Test
+    void introspectionRoundTripKeepsNullsAndEmptyStrings() {
+        IntrospectionResponse response = IntrospectionResponse.builder()
+                .active(false)
+                .scope("")
+                .exp(-1L)
+                .aud(List.of())
+                .build();
+
+        assertEquals(response, roundTrip(response));
+    }
+
+    @Test
+    void userInfoRoundTripKeepsEveryField() {
+        for (Boolean verified : Arrays.asList(null, true, false)) {
+            UserInfoResponse info = UserInfoResponse.builder()
+                    .sub("user-1")
+                    .email("alice@example.com")
+                    .emailVerified(verified)
+                    .name("Alice Liddell")
+                    .preferredUsername("alice")
+                    .givenName("Alice")
+                    .familyName("Liddell")
+                    .build();
+
+            assertEquals(info, CacheCodecs.USER_INFO.decode(CacheCodecs.USER_INFO.encode(info)));
+        }
+    }
+
+    @Test
+    void decodesAtAnOffset() {
+        UserInfoResponse info = UserInfoResponse.builder().sub("user-1").name("Zo\u00eb").build();
+        byte[] encoded = CacheCodecs.USER_INFO.encode(info);
+        byte[] framed = new byte[Long.BYTES + encoded.length];
+        System.arraycopy(encoded, 0, framed, Long.BYTES, encoded.length);
+
+        assertEquals(info, CacheCodecs.USER_INFO.decode(framed, Long.BYTES));
+    }
+
+    @Test
+    void unknownVersionDecodesToNull() {
+        byte[] encoded = CacheCodecs.INTROSPECTION.encode(IntrospectionResponse.builder().active(true).build());
+        encoded[0] = 99;
+
+        assertNull(CacheCodecs.INTROSPECTION.decode(encoded));
+    }
+
+    @Test
+    void truncatedValueIsRejected() {
+        byte[] encoded = CacheCodecs.INTROSPECTION.encode(IntrospectionResponse.builder()
+                .active(true)
+                .username("alice")
+                .userRole(UserRoleEnum.ADMIN)
+                .build());
+
+        for (int length = 1; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThrows(IllegalArgumentException.class, () -> CacheCodecs.INTROSPECTION.decode(truncated));
+        }
+    }
+
+    private static IntrospectionResponse roundTrip(IntrospectionResponse response) {
+        return CacheCodecs.INTROSPECTION.decode(CacheCodecs.INTROSPECTION.encode(response));
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.idp.adapter.cache.tiered;
+
+import com.firefly.idp.adapter.cache.TokenKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.core.publisher.Sinks;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedCacheBatcherTest {
+
+    private static final TokenKey A = TokenKey.of("a");
+    private static final TokenKey B = TokenKey.of("b");
+    private static final TokenKey C = TokenKey.of("c");
+    private static final byte[] VALUE = {1, 2, 3};
+    private static final Duration TIMEOUT = Duration.ofMillis(50);
+
+    private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    private final ScriptedCache cache = new ScriptedCache();
+
+    @AfterEach
+    void stopScheduler() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void readsWithinTheDelayShareOneBatch() {
+        SharedCacheBatcher batcher = batcher(64, 8, Duration.ofMillis(10));
+        AtomicReference<Signal<byte[]>> first = read(batcher, A);
+        AtomicReference<Signal<byte[]>> again = read(batcher, A);
+        AtomicReference<Signal<byte[]>> other = read(batcher, B);
+        assertEquals(0, cache.calls.size());
+
+        scheduler.advanceTimeBy(Duration.ofMillis(10));
+        assertEquals(1, cache.calls.size());
+        assertEquals(2, cache.calls.get(0).keys().size());
+
+        cache.calls.get(0).reply().tryEmitValue(Map.of(A, VALUE));
+        assertArrayEquals(VALUE, first.get().get());
+        assertArrayEquals(VALUE, again.get().get());
+        assertTrue(other.get().isOnComplete());
+        assertEquals(1, batcher.getBatches());
+    }
+
+    @Test
+    void readsWaitForAnInFlightSlot() {
+        SharedCacheBatcher batcher = batcher(1, 1, Duration.ZERO);
+        AtomicReference<Signal<byte[]>> a = read(batcher, A);
+        AtomicReference<Signal<byte[]>> b = read(batcher, B);
+        assertEquals(1, cache.calls.size());
+
+        cache.calls.get(0).reply().tryEmitValue(Map.of(A, VALUE));
+        assertArrayEquals(VALUE, a.get().get());
+        assertNull(b.get());
+        assertEquals(2, cache.calls.size());
+        assertEquals(List.of(B), cache.calls.get(1).keys());
+
+        cache.calls.get(1).reply().tryEmitValue(Map.of());
+        assertTrue(b.get().isOnComplete());
+        assertEquals(2, batcher.getBatches());
+    }
+
+    @Test
+    void hungBatchTimesOutAndReleasesItsSlot() {
+        SharedCacheBatcher batcher = batcher(1, 1, Duration.ZERO);
+        AtomicReference<Signal<byte[]>> a = read(batcher, A);
+        AtomicReference<Signal<byte[]>> b = read(batcher, B);
+        assertEquals(1, cache.calls.size());
+
+        scheduler.advanceTimeBy(TIMEOUT);
+        assertInstanceOf(TimeoutException.class, a.get().getThrowable());
+        assertEquals(2, cache.calls.size());
+
+        cache.calls.get(1).reply().tryEmitValue(Map.of(B, VALUE));
+        assertArrayEquals(VALUE, b.get().get());
+    }
+
+    @Test
+    void storeErrorFailsEveryReadOfTheBatch() {
+        SharedCacheBatcher batcher = batcher(64, 1, Duration.ofMillis(1));
+        AtomicReference<Signal<byte[]>> a = read(batcher, A);
+        AtomicReference<Signal<byte[]>> b = read(batcher, B);
+        scheduler.advanceTimeBy(Duration.ofMillis(1));
+
+        IllegalStateException failure = new IllegalStateException("store down");
+        cache.calls.get(0).reply().tryEmitError(failure);
+        assertEquals(failure, a.get().getThrowable());
+        assertEquals(failure, b.get().getThrowable());
+
+        AtomicReference<Signal<byte[]>> c = read(batcher, C);
+        scheduler.advanceTimeBy(Duration.ofMillis(1));
+        cache.calls.get(1).reply().tryEmitValue(Map.of(C, VALUE));
+        assertArrayEquals(VALUE, c.get().get());
+    }
+
+    @Test
+    void cancelledReadsAreNotSent() {
+        SharedCacheBatcher batcher = batcher(1, 1, Duration.ZERO);
+        read(batcher, A);
+        Disposable cancelled = batcher.get(B).subscribe();
+        AtomicReference<Signal<byte[]>> c = read(batcher, C);
+        cancelled.dispose();
+
+        cache.calls.get(0).reply().tryEmitValue(Map.of());
+        assertEquals(2, cache.calls.size());
+        assertEquals(List.of(C), cache.calls.get(1).keys());
+
+        cache.calls.get(1).reply().tryEmitValue(Map.of(C, VALUE));
+        assertArrayEquals(VALUE, c.get().get());
+    }
+
+    private SharedCacheBatcher batcher(int maxBatchSize, int maxInFlight, Duration batchDelay) {
+        return new SharedCacheBatcher(cache, "test", maxBatchSize, maxInFlight, batchDelay, TIMEOUT, scheduler);
+    }
+
+    private static AtomicReference<Signal<byte[]>> read(SharedCacheBatcher batcher, TokenKey key) {
+        AtomicReference<Signal<byte[]>> outcome = new AtomicReference<>();
+        batcher.get(key).materialize().subscribe(outcome::set);
+        return outcome;
+    }
+
+    /**
+     * Answers each {@code getAll} only when the test completes its reply.
+     */
+    private static final class ScriptedCache implements SharedCache {
+
+        final List<Call> calls = new ArrayList<>();
+
+        @Override
+        public Mono<Map<TokenKey, byte[]>> getAll(String namespace, Collection<TokenKey> keys) {
+            Sinks.One<Map<TokenKey, byte[]>> reply = Sinks.one();
+            calls.add(new Call(List.copyOf(keys), reply));
+            return reply.asMono();
+        }
+
+        @Override
+        public Mono<Void> put(String namespace, TokenKey key, byte[] value, long expiresAtMillis) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> invalidate(String namespace, TokenKey key) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Long> counter(String name) {
+            return Mono.just(0L);
+        }
+
+        @Override
+        public Mono<Long> increment(String name) {
+            return Mono.just(1L);
+        }
+    }
+
+    private record Call(List<TokenKey> keys, Sinks.One<Map<TokenKey, byte[]>> reply) {
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.idp.adapter.cache.tiered;
+
+import com.firefly.idp.adapter.ForwardingIdpAdapter;
+import com.firefly.idp.adapter.IdpAdapter;
+import com.firefly.idp.adapter.inmemory.InMemoryIdpAdapter;
+import com.firefly.idp.adapter.inmemory.InMemoryIdpProperties;
+import com.firefly.idp.adapter.revocation.InProcessRevocationChannel;
+import com.firefly.idp.adapter.revocation.RevocationChannel;
+import com.firefly.idp.dtos.CreateUserRequest;
+import com.firefly.idp.dtos.IntrospectionResponse;
+import com.firefly.idp.dtos.LoginRequest;
+import com.firefly.idp.dtos.LogoutRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TieredCachingIdpAdapterTest {
+
+    private static final Duration LOCAL_TTL = Duration.ofSeconds(5);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    private final CountingIdp idp = new CountingIdp(
+            new InMemoryIdpAdapter(InMemoryIdpProperties.builder().build(), clock));
+    private final InMemorySharedCache shared = new InMemorySharedCache(clock);
+    private final List<TieredCachingIdpAdapter> nodes = new ArrayList<>();
+
+    @AfterEach
+    void closeNodes() {
+        nodes.forEach(TieredCachingIdpAdapter::close);
+    }
+
+    @Test
+    void sharedTierAnswersOtherNodes() {
+        TieredCachingIdpAdapter first = node(shared, null);
+        TieredCachingIdpAdapter second = node(shared, null);
+        String token = login();
+
+        assertTrue(introspect(first, token).isActive());
+        assertTrue(introspect(second, token).isActive());
+
+        assertEquals(1, idp.introspections.get());
+        assertEquals(1, second.getSharedHits());
+    }
+
+    @Test
+    void logoutEvictsBothTiersOnEveryNode() {
+        RevocationChannel channel = new InProcessRevocationChannel();
+        TieredCachingIdpAdapter first = node(shared, channel);
+        TieredCachingIdpAdapter second = node(shared, channel);
+        String token = login();
+        introspect(first, token);
+        introspect(second, token);
+
+        first.logout(LogoutRequest.builder().accessToken(token).build()).block();
+
+        assertFalse(introspect(second, token).isActive());
+        assertEquals(2, idp.introspections.get());
+    }
+
+    @Test
+    void sessionRevocationHidesSharedValuesOnceTheGenerationIsReread() {
+        TieredCachingIdpAdapter first = node(shared, null);
+        TieredCachingIdpAdapter second = node(shared, null);
+        String token = login();
+        introspect(first, token);
+
+        clock.advance(LOCAL_TTL.plusSeconds(1));
+        introspect(second, token);
+        assertEquals(1, idp.introspections.get());
+
+        first.revokeSession("another-session").block();
+        introspect(second, token);
+        assertEquals(1, idp.introspections.get(), "local tier and known generation are still fresh");
+
+        clock.advance(LOCAL_TTL.plusSeconds(1));
+        introspect(second, token);
+        assertEquals(2, idp.introspections.get());
+    }
+
+    @Test
+    void sessionRevocationEventMakesNodesRereadTheGeneration() {
+        RevocationChannel channel = new InProcessRevocationChannel();
+        TieredCachingIdpAdapter first = node(shared, channel);
+        TieredCachingIdpAdapter second = node(shared, channel);
+        String token = login();
+        introspect(first, token);
+        introspect(second, token);
+        assertEquals(1, idp.introspections.get());
+
+        first.revokeSession("another-session").block();
+        introspect(second, token);
+
+        assertEquals(2, idp.introspections.get());
+    }
+
+    @Test
+    void valuesStoredAfterARevocationAreShared() {
+        TieredCachingIdpAdapter first = node(shared, null);
+        TieredCachingIdpAdapter second = node(shared, null);
+        first.revokeSession("another-session").block();
+        String token = login();
+
+        introspect(first, token);
+        introspect(second, token);
+
+        assertEquals(1, idp.introspections.get());
+    }
+
+    @Test
+    void unreadableGenerationSkipsTheSharedTier() {
+        InMemorySharedCache broken = new InMemorySharedCache(clock) {
+            @Override
+            public Mono<Long> counter(String name) {
+                return Mono.error(new IllegalStateException("store down"));
+            }
+        };
+        TieredCachingIdpAdapter first = node(broken, null);
+        String token = login();
+
+        assertTrue(introspect(first, token).isActive());
+
+        assertEquals(0, broken.size());
+        assertTrue(first.getSharedErrors() > 0);
+    }
+
+    private TieredCachingIdpAdapter node(SharedCache cache, RevocationChannel channel) {
+        TieredCacheProperties properties = TieredCacheProperties.builder()
+                .localTtl(LOCAL_TTL)
+                .sharedTimeout(Duration.ofSeconds(5))
+                .build();
+        TieredCachingIdpAdapter node = new TieredCachingIdpAdapter(idp, cache, properties, channel, clock);
+        nodes.add(node);
+        return node;
+    }
+
+    private String login() {
+        idp.createUser(CreateUserRequest.builder().username("alice").password("secret").build()).block();
+        return idp.login(LoginRequest.builder().username("alice").password("secret").build())
+                .block()
+                .getBody()
+                .getAccessToken();
+    }
+
+    private static IntrospectionResponse introspect(IdpAdapter adapter, String token) {
+        return adapter.introspect(token).block().getBody();
+    }
+
+    private static final class CountingIdp extends ForwardingIdpAdapter {
+
+        final AtomicInteger introspections = new AtomicInteger();
+
+        CountingIdp(IdpAdapter delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<ResponseEntity<IntrospectionResponse>> introspect(String accessToken) {
+            introspections.incrementAndGet();
+            return super.introspect(accessToken);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
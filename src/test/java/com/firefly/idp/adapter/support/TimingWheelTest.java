@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.idp.adapter.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    private static final long START = 1_000_003;
+
+    @Test
+    void timersCascadeDownAndFireOnTheirDeadline() {
+        // four buckets per level, so deadlines up to a few thousand ticks span five levels
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 4, START);
+        List<Long> deadlines = new ArrayList<>();
+        for (long delay = 1; delay <= 300; delay++) {
+            deadlines.add(START + delay);
+        }
+        deadlines.addAll(List.of(START + 1_000, START + 1_024, START + 4_095, START + 4_096, START + 4_097));
+        deadlines.forEach(deadline -> wheel.schedule(deadline, deadline));
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = START + 1; now <= START + 5_000; now++) {
+            long at = now;
+            wheel.advance(now, deadline -> assertNull(firedAt.put(deadline, at), "fired twice"));
+        }
+
+        assertEquals(deadlines.size(), firedAt.size());
+        deadlines.forEach(deadline -> assertEquals(deadline, firedAt.get(deadline)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advancingPastManyTicksFiresEverythingDue() {
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 8, START);
+        for (long delay = 10; delay <= 100_000; delay += 997) {
+            wheel.schedule(START + delay, START + delay);
+        }
+        wheel.schedule(START + 200_000, START + 200_000);
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advance(START + 100_010, fired::add);
+
+        assertEquals(101, fired.size());
+        fired.forEach(deadline -> assertTrue(deadline <= START + 100_010));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 4, START);
+        wheel.schedule("late", START - 50);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(START, fired::add);
+
+        assertEquals(List.of("late"), fired);
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 4, START);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", START + 100);
+        wheel.schedule("kept", START + 100);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertEquals(1, wheel.size());
+
+        List<String> fired = new ArrayList<>();
+        for (long now = START + 1; now <= START + 200; now++) {
+            wheel.advance(now, fired::add);
+        }
+        assertEquals(List.of("kept"), fired);
+    }
+
+    @Test
+    void expiredCallbacksMayScheduleTimers() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 4, START);
+        wheel.schedule(START + 5, START + 5);
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = START + 1; now <= START + 50; now++) {
+            wheel.advance(now, deadline -> {
+                fired.add(deadline);
+                if (deadline < START + 20) {
+                    wheel.schedule(deadline + 5, deadline + 5);
+                }
+            });
+        }
+
+        assertEquals(List.of(START + 5, START + 10, START + 15, START + 20), fired);
+    }
+}